@@ -7,4 +7,19 @@ package com.nageoffer.shorlink.admin.common.constant;
  */
 public class RedisCacheConstant {
     public static final String LOCK_USER_REGISTER_KEY = "short-link:lock_user_register: ";
+
+    /**
+     * 网站标题缓存前缀，由中台写入（short_link:site:title:{normalizedUrl}），获取失败时值为 "null"
+     */
+    public static final String SITE_TITLE_CACHE_PREFIX = "short_link:site:title:";
+
+    /**
+     * 网站标题缓存空值标记
+     */
+    public static final String SITE_TITLE_NULL_VALUE = "null";
+
+    /**
+     * 获取网站标题失败时返回的默认标题，与中台一致
+     */
+    public static final String DEFAULT_SITE_TITLE = "未知网站";
 }
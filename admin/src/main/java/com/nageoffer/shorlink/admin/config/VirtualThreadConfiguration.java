@@ -0,0 +1,40 @@
+package com.nageoffer.shorlink.admin.config;
+
+import com.nageoffer.shorlink.admin.toolkit.VirtualThreadUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <p>
+ * 功能描述: 虚拟线程模式配置，short-link.virtual-threads.enabled=true 时生效
+ * </p>
+ * 后管请求大多阻塞在调用短链接中台（RestTemplate）和数据库上，每个请求使用一个虚拟线程处理，
+ * 并发不再受 Tomcat 工作线程池大小限制。运行在 JDK 21 以下时不生效，继续使用平台线程池
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "short-link.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            ExecutorService executor = VirtualThreadUtil.newVirtualThreadPerTaskExecutor();
+            if (executor == null) {
+                log.warn("当前 JDK（{}）不支持虚拟线程，Tomcat 继续使用平台线程池", Runtime.version());
+                return;
+            }
+            protocolHandler.setExecutor(executor);
+            log.info("Tomcat 已切换为虚拟线程处理请求");
+        };
+    }
+}
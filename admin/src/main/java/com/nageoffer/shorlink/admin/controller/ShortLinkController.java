@@ -3,9 +3,12 @@ package com.nageoffer.shorlink.admin.controller;
 import com.nageoffer.shorlink.admin.common.convention.result.Result;
 import com.nageoffer.shorlink.admin.common.convention.result.Results;
 import com.nageoffer.shorlink.admin.remote.ShortLinkRemoteService;
+import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkBatchCreateReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkCacheWarmUpReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkCreateReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkPageReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkUpdateReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkCreateRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkPageResult;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +36,14 @@ public class ShortLinkController {
         return shortLinkRemoteService.createShortLink(requestParam);
     }
     
+    /**
+     * 批量创建短链接
+     */
+    @PostMapping("/api/short-link/admin/v1/create/batch")
+    public Result<ShortLinkBatchCreateRespDTO> batchCreateShortLink(@RequestBody ShortLinkBatchCreateReqDTO requestParam) {
+        return shortLinkRemoteService.batchCreateShortLink(requestParam);
+    }
+    
     /**
      * 分页查询短链接
      */
@@ -49,4 +60,12 @@ public class ShortLinkController {
         shortLinkRemoteService.updateShortLink(requestParam);
         return Results.success();
     }
+
+    /**
+     * 按分组、域名或热点排行榜预热短链接缓存，中台后台异步执行
+     */
+    @PostMapping("/api/short-link/admin/v1/cache/warm-up")
+    public Result<Void> warmUpCache(@RequestBody ShortLinkCacheWarmUpReqDTO requestParam) {
+        return shortLinkRemoteService.warmUpCache(requestParam);
+    }
 }
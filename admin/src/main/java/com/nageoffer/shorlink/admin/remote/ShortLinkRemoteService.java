@@ -4,10 +4,13 @@ import com.nageoffer.shorlink.admin.common.convention.result.Result;
 import com.nageoffer.shorlink.admin.dto.req.RecycleBinRecoverReqDTO;
 import com.nageoffer.shorlink.admin.dto.req.RecycleBinRemoveReqDTO;
 import com.nageoffer.shorlink.admin.dto.req.RecycleBinSaveReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkBatchCreateReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkCacheWarmUpReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkCreateReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkGroupCountReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkPageReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkUpdateReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkCreateRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkGroupCountRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkPageResult;
@@ -29,6 +32,11 @@ public interface ShortLinkRemoteService {
      */
     Result<ShortLinkCreateRespDTO> createShortLink(ShortLinkCreateReqDTO requestParam);
 
+    /**
+     * 批量创建短链接
+     */
+    Result<ShortLinkBatchCreateRespDTO> batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam);
+
     /**
      * 修改短链接
      */
@@ -70,4 +78,10 @@ public interface ShortLinkRemoteService {
      * @param requestParam 请求参数 gid fullShortUrl
      */
     Result<Void> removeRecycleBin(RecycleBinRemoveReqDTO requestParam);
+
+    /**
+     * 预热短链接缓存
+     * @param requestParam 请求参数 gidList、domain、topN
+     */
+    Result<Void> warmUpCache(ShortLinkCacheWarmUpReqDTO requestParam);
 }
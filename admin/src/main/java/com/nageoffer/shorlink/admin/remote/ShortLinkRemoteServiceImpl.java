@@ -1,22 +1,30 @@
 package com.nageoffer.shorlink.admin.remote;
 
+import cn.hutool.core.util.StrUtil;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.TypeReference;
 import com.nageoffer.shorlink.admin.common.biz.user.UserContext;
+import com.nageoffer.shorlink.admin.common.constant.RedisCacheConstant;
 import com.nageoffer.shorlink.admin.common.convention.result.Result;
+import com.nageoffer.shorlink.admin.common.convention.result.Results;
 import com.nageoffer.shorlink.admin.dto.req.RecycleBinRecoverReqDTO;
 import com.nageoffer.shorlink.admin.dto.req.RecycleBinRemoveReqDTO;
 import com.nageoffer.shorlink.admin.dto.req.RecycleBinSaveReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkBatchCreateReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkCacheWarmUpReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkCreateReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkGroupCountReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkPageReqDTO;
 import com.nageoffer.shorlink.admin.remote.dto.req.ShortLinkUpdateReqDTO;
+import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkCreateRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkGroupCountRespDTO;
 import com.nageoffer.shorlink.admin.remote.dto.resp.ShortLinkPageResult;
+import com.nageoffer.shorlink.admin.toolkit.RateLimitedLogger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -38,8 +46,14 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
+
+    /**
+     * 远程调用失败日志，短链接中台不可用时每秒最多输出 10 条异常堆栈
+     */
+    private static final RateLimitedLogger REMOTE_ERROR_LOG = new RateLimitedLogger(log, 10);
     
     private final RestTemplate restTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
     
     @Value("${short-link.project.url:http://127.0.0.1:8001}")
     private String projectServiceUrl;
@@ -57,11 +71,29 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
             String response = restTemplate.postForObject(url, entity, String.class);
             return JSON.parseObject(response, new TypeReference<Result<ShortLinkCreateRespDTO>>() {});
         } catch (Exception e) {
-            log.error("远程调用创建短链接失败", e);
+            REMOTE_ERROR_LOG.error("远程调用创建短链接失败", e);
             throw new RuntimeException("远程调用创建短链接失败: " + e.getMessage());
         }
     }
 
+    @Override
+    public Result<ShortLinkBatchCreateRespDTO> batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam) {
+        String url = projectServiceUrl + "/api/short-link/v1/create/batch";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<ShortLinkBatchCreateReqDTO> entity = new HttpEntity<>(requestParam, headers);
+
+        try {
+            String response = restTemplate.postForObject(url, entity, String.class);
+            return JSON.parseObject(response, new TypeReference<Result<ShortLinkBatchCreateRespDTO>>() {});
+        } catch (Exception e) {
+            REMOTE_ERROR_LOG.error("远程调用批量创建短链接失败", e);
+            throw new RuntimeException("远程调用批量创建短链接失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 修改短链接
      */
@@ -69,8 +101,7 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
     public Result<Void> updateShortLink(ShortLinkUpdateReqDTO requestParam) {
         String url = projectServiceUrl + "/api/short-link/v1/update";
         
-        log.info("远程调用修改短链接开始 - URL: {}", url);
-        log.info("远程调用修改短链接 - 请求参数: {}", JSON.toJSONString(requestParam));
+        log.debug("远程调用修改短链接 - URL: {}, 请求参数: {}", url, requestParam);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -79,7 +110,7 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
         String username = UserContext.getUsername();
         if (username != null) {
             headers.set("username", username);
-            log.info("传递用户信息 - username: {}", username);
+            log.debug("传递用户信息 - username: {}", username);
         }
 
         HttpEntity<ShortLinkUpdateReqDTO> entity = new HttpEntity<>(requestParam, headers);
@@ -87,10 +118,10 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
         try {
             // 使用 PUT 方法
             restTemplate.put(url, entity);
-            log.info("远程调用修改短链接成功");
+            log.debug("远程调用修改短链接成功");
             return new Result<Void>().setCode("0").setMessage("修改成功");
         } catch (Exception e) {
-            log.error("远程调用修改短链接失败", e);
+            REMOTE_ERROR_LOG.error("远程调用修改短链接失败", e);
             throw new RuntimeException("远程调用修改短链接失败: " + e.getMessage());
         }
     }
@@ -109,30 +140,25 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
         if (requestParam.getSize() != null) {
             uriBuilder.queryParam("size", requestParam.getSize());
         }
+        if (requestParam.getCursor() != null) {
+            uriBuilder.queryParam("cursor", requestParam.getCursor());
+        }
+        if (requestParam.getSearchCount() != null) {
+            uriBuilder.queryParam("searchCount", requestParam.getSearchCount());
+        }
         
         String url = uriBuilder.toUriString();
         
-        // 添加日志：打印请求信息
-        log.info("远程调用分页查询 - URL: {}", url);
-        log.info("远程调用分页查询 - 参数: gid={}, current={}, size={}", 
-                requestParam.getGid(), requestParam.getCurrent(), requestParam.getSize());
+        log.debug("远程调用分页查询 - URL: {}", url);
         
         try {
             String response = restTemplate.getForObject(url, String.class);
-            
-            // 添加日志：打印响应
-            log.info("远程调用分页查询 - 响应: {}", response);
-            
+            // 响应包含整页短链接，只在 DEBUG 级别输出
+            log.debug("远程调用分页查询 - 响应: {}", response);
             // 解析结果 - 使用简单的 ShortLinkPageResult 替代 IPage
-            Result<ShortLinkPageResult> result = JSON.parseObject(response, new TypeReference<Result<ShortLinkPageResult>>() {});
-            
-            // 添加日志：打印解析后的结果
-            log.info("远程调用分页查询 - 解析后的result: {}", result);
-            log.info("远程调用分页查询 - 解析后的data: {}", result.getData());
-            
-            return result;
+            return JSON.parseObject(response, new TypeReference<Result<ShortLinkPageResult>>() {});
         } catch (Exception e) {
-            log.error("远程调用分页查询短链接失败", e);
+            REMOTE_ERROR_LOG.error("远程调用分页查询短链接失败", e);
             throw new RuntimeException("远程调用分页查询短链接失败: " + e.getMessage());
         }
     }
@@ -150,19 +176,24 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
             String response = restTemplate.postForObject(url, entity, String.class);
             return JSON.parseObject(response, new TypeReference<Result<List<ShortLinkGroupCountRespDTO>>>() {});
         } catch (Exception e) {
-            log.error("远程调用批量查询分组短链接数量失败", e);
+            REMOTE_ERROR_LOG.error("远程调用批量查询分组短链接数量失败", e);
             throw new RuntimeException("远程调用批量查询分组短链接数量失败: " + e.getMessage());
         }
     }
 
     @Override
     public Result<String> getTitleByUrl(String url) {
+        // 先读取中台维护的标题缓存，命中（包括获取失败的空值标记）时不再远程调用
+        String cachedTitle = getCachedTitle(url);
+        if (cachedTitle != null) {
+            return Results.success(RedisCacheConstant.SITE_TITLE_NULL_VALUE.equals(cachedTitle) ? RedisCacheConstant.DEFAULT_SITE_TITLE : cachedTitle);
+        }
         String apiUrl = projectServiceUrl + "/api/short-link/v1/title?url=" + url;
         try {
             String response = restTemplate.getForObject(apiUrl, String.class);
             return JSON.parseObject(response, new TypeReference<Result<String>>(){});
         } catch (Exception ex) {
-            log.error("远程调用获取网站标题失败", ex);
+            REMOTE_ERROR_LOG.error("远程调用获取网站标题失败", ex);
             throw new RuntimeException("远程调用获取网站标题失败" + ex.getMessage());
         }
     }
@@ -180,7 +211,7 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
             String response = restTemplate.postForObject(url, entity, String.class);
             return JSON.parseObject(response, new TypeReference<Result<Void>>() {});
         } catch (Exception e) {
-            log.error("远程调用保存回收站失败", e);
+            REMOTE_ERROR_LOG.error("远程调用保存回收站失败", e);
             throw new RuntimeException("远程调用保存回收站失败: " + e.getMessage());
         }
     }
@@ -199,30 +230,25 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
         if (requestParam.getSize() != null) {
             uriBuilder.queryParam("size", requestParam.getSize());
         }
+        if (requestParam.getCursor() != null) {
+            uriBuilder.queryParam("cursor", requestParam.getCursor());
+        }
+        if (requestParam.getSearchCount() != null) {
+            uriBuilder.queryParam("searchCount", requestParam.getSearchCount());
+        }
         
         String url = uriBuilder.toUriString();
 
-        // 添加日志：打印请求信息
-        log.info("远程调用分页查询 - URL: {}", url);
-        log.info("远程调用分页查询 - 参数: gid={}, current={}, size={}",
-                requestParam.getGid(), requestParam.getCurrent(), requestParam.getSize());
+        log.debug("远程调用分页查询 - URL: {}", url);
 
         try {
             String response = restTemplate.getForObject(url, String.class);
-
-            // 添加日志：打印响应
-            log.info("远程调用分页查询 - 响应: {}", response);
-
+            // 响应包含整页短链接，只在 DEBUG 级别输出
+            log.debug("远程调用分页查询 - 响应: {}", response);
             // 解析结果 - 使用简单的 ShortLinkPageResult 替代 IPage
-            Result<ShortLinkPageResult> result = JSON.parseObject(response, new TypeReference<Result<ShortLinkPageResult>>() {});
-
-            // 添加日志：打印解析后的结果
-            log.info("远程调用分页查询 - 解析后的result: {}", result);
-            log.info("远程调用分页查询 - 解析后的data: {}", result.getData());
-
-            return result;
+            return JSON.parseObject(response, new TypeReference<Result<ShortLinkPageResult>>() {});
         } catch (Exception e) {
-            log.error("远程调用分页查询短链接失败", e);
+            REMOTE_ERROR_LOG.error("远程调用分页查询短链接失败", e);
             throw new RuntimeException("远程调用分页查询短链接失败: " + e.getMessage());
         }
     }
@@ -271,4 +297,42 @@ public class ShortLinkRemoteServiceImpl implements ShortLinkRemoteService {
         }
     }
 
-} 
\ No newline at end of file
+    @Override
+    public Result<Void> warmUpCache(ShortLinkCacheWarmUpReqDTO requestParam) {
+        String url = projectServiceUrl + "/api/short-link/v1/cache/warm-up";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<ShortLinkCacheWarmUpReqDTO> entity = new HttpEntity<>(requestParam, headers);
+
+        try {
+            String response = restTemplate.postForObject(url, entity, String.class);
+            return JSON.parseObject(response, new TypeReference<Result<Void>>() {});
+        } catch (Exception e) {
+            REMOTE_ERROR_LOG.error("远程调用预热短链接缓存失败", e);
+            throw new RuntimeException("远程调用预热短链接缓存失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 读取中台写入的网站标题缓存，URL 标准化方式与中台 GetTitleServiceImpl 一致
+     * @param url 网站URL
+     * @return 缓存的标题或空值标记，未命中返回null
+     */
+    private String getCachedTitle(String url) {
+        if (StrUtil.isBlank(url)) {
+            return null;
+        }
+        String normalizedUrl = url.trim();
+        if (!normalizedUrl.startsWith("http://") && !normalizedUrl.startsWith("https://")) {
+            normalizedUrl = "https://" + normalizedUrl;
+        }
+        try {
+            return stringRedisTemplate.opsForValue().get(RedisCacheConstant.SITE_TITLE_CACHE_PREFIX + normalizedUrl);
+        } catch (Exception e) {
+            log.warn("读取网站标题缓存失败：{}", normalizedUrl, e);
+            return null;
+        }
+    }
+}
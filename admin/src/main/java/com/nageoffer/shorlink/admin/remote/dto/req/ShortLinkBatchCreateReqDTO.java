@@ -0,0 +1,22 @@
+package com.nageoffer.shorlink.admin.remote.dto.req;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * <p>
+ * 功能描述: 短链接批量创建请求对象
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Data
+public class ShortLinkBatchCreateReqDTO {
+
+    /**
+     * 待创建的短链接列表
+     */
+    private List<ShortLinkCreateReqDTO> links;
+}
@@ -26,4 +26,14 @@ public class ShortLinkPageReqDTO {
      * 每页显示条数
      */
     private Long size;
+
+    /**
+     * 分页游标，取上一页返回的 nextCursor；传入时按游标翻页，忽略 current 且不查询总数
+     */
+    private String cursor;
+
+    /**
+     * 是否查询总数，为 false 时不执行 COUNT，total 为 0
+     */
+    private Boolean searchCount;
 }
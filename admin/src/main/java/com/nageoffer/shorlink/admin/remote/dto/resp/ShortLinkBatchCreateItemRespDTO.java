@@ -0,0 +1,51 @@
+package com.nageoffer.shorlink.admin.remote.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * 功能描述: 短链接批量创建单条结果
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkBatchCreateItemRespDTO {
+
+    /**
+     * 在请求列表中的下标
+     */
+    private Integer index;
+
+    /**
+     * 是否创建成功
+     */
+    private Boolean success;
+
+    /**
+     * 分组信息
+     */
+    private String gid;
+
+    /**
+     * 原始链接
+     */
+    private String originUrl;
+
+    /**
+     * 短链接，创建失败时为空
+     */
+    private String fullShortUrl;
+
+    /**
+     * 失败原因，创建成功时为空
+     */
+    private String message;
+}
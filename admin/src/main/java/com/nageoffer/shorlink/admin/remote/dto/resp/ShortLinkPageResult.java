@@ -38,4 +38,9 @@ public class ShortLinkPageResult {
      * 总页数
      */
     private Long pages;
+
+    /**
+     * 下一页游标，为 null 表示没有下一页
+     */
+    private String nextCursor;
 } 
\ No newline at end of file
@@ -74,18 +74,17 @@ public class GroupServiceImpl extends ServiceImpl<GroupMapper, GroupDO> implemen
         List<String> gidList = groupDoList.stream()
                 .map(GroupDO::getGid)
                 .collect(Collectors.toList());
-        log.info("查询到的分组gid列表: {}", gidList);
+        log.debug("查询到的分组gid列表: {}", gidList);
 
 
         // ===== 第2步：构造请求 DTO 并远程调用 =====
         ShortLinkGroupCountReqDTO countReqDTO = ShortLinkGroupCountReqDTO.builder()
                 .gidList(groupDoList.stream().map(GroupDO::getGid).collect(Collectors.toList()))
                 .build();
-        log.info("准备远程调用， 请求参数: {}", countReqDTO);
+        log.debug("准备远程调用， 请求参数: {}", countReqDTO);
 
         Result<List<ShortLinkGroupCountRespDTO>> listResult = shortLinkRemoteService.countByGidList(countReqDTO);
-        log.info("远程调用返回结果：{}", listResult);
-        log.info("远程调用返回的数据：{}", listResult.getData());
+        log.debug("远程调用返回结果：{}", listResult);
         // ===== 第3步：DO 转 DTO =====
         List<ShortLinkGroupRespDTO> shortLinkGroupRespDTOList =
                 BeanUtil.copyToList(groupDoList, ShortLinkGroupRespDTO.class);
@@ -96,7 +95,7 @@ public class GroupServiceImpl extends ServiceImpl<GroupMapper, GroupDO> implemen
                     .filter(item -> item.getGid().equals(each.getGid()))
                     .findFirst()
                     .ifPresent(item -> {
-                        log.info("为分组{}设置短链接数量：{}", each.getGid(), item.getShortLinkCount());
+                        log.debug("为分组{}设置短链接数量：{}", each.getGid(), item.getShortLinkCount());
                         each.setShortLinkCount(item.getShortLinkCount());
                     });
         });
@@ -0,0 +1,55 @@
+package com.nageoffer.shorlink.admin.toolkit;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * 功能描述: 限流日志，每秒最多输出 permitsPerSecond 条，超出的日志直接丢弃并计数
+ * </p>
+ * 用于远程调用等高频路径：短链接中台不可用时每个请求都会失败，
+ * 限流后异常堆栈不会随请求量刷屏，下一秒第一条日志输出时附带上一周期丢弃的条数
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+public class RateLimitedLogger {
+
+    private static final long WINDOW_MILLIS = 1000L;
+
+    private final Logger logger;
+    private final int permitsPerSecond;
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, int permitsPerSecond) {
+        this.logger = logger;
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public void error(String message, Throwable throwable) {
+        if (logger.isErrorEnabled() && tryAcquire()) {
+            logger.error(message, throwable);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_MILLIS && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                logger.warn("日志限流：上一周期丢弃 {} 条", dropped);
+            }
+        }
+        if (windowCount.incrementAndGet() <= permitsPerSecond) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.nageoffer.shorlink.admin.toolkit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>
+ * 功能描述: 虚拟线程工具类
+ * </p>
+ * 项目按 Java 17 编译，虚拟线程（JDK 21 正式提供）的 API 只能通过反射调用
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+public final class VirtualThreadUtil {
+
+    private static final boolean SUPPORTED = detect();
+
+    /**
+     * 当前 JDK 是否支持虚拟线程
+     * @return JDK 21 及以上（或 19/20 开启预览）时为 true
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器
+     * @return 执行器，不支持虚拟线程时返回 null
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!SUPPORTED) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("创建虚拟线程执行器失败", e);
+            return null;
+        }
+    }
+
+    private static boolean detect() {
+        try {
+            // JDK 19/20 未开启预览时方法存在但调用会抛出 UnsupportedOperationException
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+}
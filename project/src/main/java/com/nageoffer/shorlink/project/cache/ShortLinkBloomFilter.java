@@ -0,0 +1,332 @@
+package com.nageoffer.shorlink.project.cache;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import io.netty.buffer.ByteBuf;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * 功能描述: 短链接布隆过滤器，在 Redis 布隆过滤器前维护一份进程内的只读副本
+ * </p>
+ * 1. 启动后在后台线程按块 GETRANGE 把 Redis 中的位图复制到堆外内存，哈希算法与 Redisson 完全一致
+ * 2. 新增元素时除写入 Redis 外，通过 Pub/Sub 通知所有节点在本地副本置位；先订阅再加载，加载期间的通知不会丢失
+ * 3. 本地副本就绪后只查本地，命中与不命中都不访问 Redis；副本未就绪时使用 Redis 布隆过滤器
+ *    未启用或无法分配本地副本的节点同样发送新增通知，其他节点的副本不会漏掉该节点新增的元素
+ * 4. 新增元素时 Redis 中的累计新增数量同步 INCRBY，各节点定期与本地收到的通知数量比较，
+ *    连续两个周期落后（通知丢失）时重新 GETRANGE 合并位图，因此本地误判的不存在最多持续约两个同步周期
+ * 位图只在通知线程和加载线程中修改（加锁按字节或运算），读取无锁；位只会被置 1，重新加载按位或合并即可
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkBloomFilter {
+
+    /**
+     * 批量新增通知中元素之间的分隔符
+     */
+    private static final String VALUE_SEPARATOR = "\n";
+
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final RedissonClient redissonClient;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 是否启用本地副本，按 1 亿元素、0.001 误判率约占用 172MB 堆外内存，需保证 -XX:MaxDirectMemorySize 足够，
+     * 分配失败时不启用本地副本
+     */
+    @Value("${short-link.bloom-filter.local.enabled:true}")
+    private boolean localEnabled;
+
+    /**
+     * 加载位图时每次 GETRANGE 读取的字节数
+     */
+    @Value("${short-link.bloom-filter.local.load-chunk-bytes:4194304}")
+    private int loadChunkBytes;
+
+    private final Object bitsLock = new Object();
+    /**
+     * 本地副本已应用的新增数量：加载前读取的 Redis 计数加上之后收到的通知数量
+     */
+    private final AtomicLong appliedAddCount = new AtomicLong();
+    private volatile boolean ready;
+    private volatile boolean loadFinished;
+    private volatile boolean loading;
+    private long lastBehindCount;
+    private ByteBuffer bits;
+    private long size;
+    private int hashIterations;
+    private RTopic addTopic;
+    private int listenerId = -1;
+
+    @PostConstruct
+    public void init() {
+        size = shortUriCreateCachePenetrationBloomFilter.getSize();
+        hashIterations = shortUriCreateCachePenetrationBloomFilter.getHashIterations();
+        // 无论本节点是否有本地副本都要发送新增通知
+        addTopic = redissonClient.getTopic(RedisKeyConstant.SHORT_LINK_BLOOM_FILTER_ADD_TOPIC, StringCodec.INSTANCE);
+        if (!localEnabled) {
+            return;
+        }
+        long byteLength = (size + 7) / 8;
+        if (byteLength > Integer.MAX_VALUE) {
+            log.warn("布隆过滤器位图过大（{} 字节），不启用本地副本", byteLength);
+            return;
+        }
+        try {
+            bits = ByteBuffer.allocateDirect((int) byteLength);
+        } catch (OutOfMemoryError e) {
+            log.error("布隆过滤器本地副本分配 {} 字节堆外内存失败，继续使用 Redis 布隆过滤器，可调大 -XX:MaxDirectMemorySize", byteLength, e);
+            return;
+        }
+        // 先订阅新增通知再加载，加载期间新增的元素不会遗漏
+        listenerId = addTopic.addListener(String.class, (channel, message) -> {
+            // 批量新增时一条消息包含多个元素，以换行分隔
+            String[] values = message.split(VALUE_SEPARATOR);
+            for (String value : values) {
+                setLocal(hash(value));
+            }
+            appliedAddCount.addAndGet(values.length);
+        });
+        loading = true;
+        Thread loader = new Thread(this::load, "short-link-bloom-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (addTopic != null && listenerId != -1) {
+            addTopic.removeListener(listenerId);
+        }
+    }
+
+    /**
+     * 本地副本是否已加载结束（成功或失败），未启用本地副本时始终为 true
+     * @return 是否无需再等待本地副本
+     */
+    public boolean isLocalLoaded() {
+        return bits == null || loadFinished;
+    }
+
+    /**
+     * 判断元素是否可能存在
+     * @param value 完整短链接
+     * @return false 表示一定不存在
+     */
+    public boolean contains(String value) {
+        if (!ready) {
+            return shortUriCreateCachePenetrationBloomFilter.contains(value);
+        }
+        return containsLocal(hash(value));
+    }
+
+    /**
+     * 新增元素：写入 Redis 布隆过滤器并通知所有节点更新本地副本
+     * @param value 完整短链接
+     */
+    public void add(String value) {
+        shortUriCreateCachePenetrationBloomFilter.add(value);
+        incrementAddCount(1);
+        try {
+            addTopic.publish(value);
+        } catch (Exception e) {
+            // 通知失败时其他节点由定期同步补齐
+            log.warn("布隆过滤器新增通知发送失败：{}", value, e);
+            if (bits != null) {
+                setLocal(hash(value));
+            }
+        }
+    }
+
+    /**
+     * 批量新增元素：一次管道 SETBIT 写入 Redis 位图，再用一条消息通知所有节点
+     * 位下标与 RedissonBloomFilter 计算方式相同，写入后 Redisson 的 contains 同样能判断
+     * @param values 完整短链接列表
+     */
+    public void addAll(Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<long[]> indexesList = new ArrayList<>(values.size());
+        for (String value : values) {
+            indexesList.add(hash(value));
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (long[] indexes : indexesList) {
+                for (long index : indexes) {
+                    stringRedisConnection.setBit(RedisKeyConstant.SHORT_LINK_CREATE_BLOOM_FILTER, index, true);
+                }
+            }
+            // 位图写入之后再计数，其他节点看到计数增加时位图一定已包含这些元素
+            stringRedisConnection.incrBy(RedisKeyConstant.SHORT_LINK_BLOOM_FILTER_ADD_COUNT, indexesList.size());
+            return null;
+        });
+        try {
+            addTopic.publish(String.join(VALUE_SEPARATOR, values));
+        } catch (Exception e) {
+            log.warn("布隆过滤器批量新增通知发送失败，{} 条", values.size(), e);
+            if (bits != null) {
+                indexesList.forEach(this::setLocal);
+            }
+        }
+    }
+
+    /**
+     * 定期检查本地副本是否漏收新增通知：Redis 累计新增数量连续两个周期大于本地已应用数量时重新加载位图。
+     * 只落后一个周期可能是通知仍在途中，不立即重新加载；初次加载失败时在这里重试
+     */
+    @Scheduled(fixedDelayString = "${short-link.bloom-filter.local.resync-interval-ms:60000}",
+            initialDelayString = "${short-link.bloom-filter.local.resync-interval-ms:60000}")
+    public void resync() {
+        if (bits == null || loading) {
+            return;
+        }
+        if (!ready) {
+            load();
+            return;
+        }
+        try {
+            long behindCount = readAddCount() - appliedAddCount.get();
+            if (behindCount <= 0) {
+                lastBehindCount = 0;
+                return;
+            }
+            if (lastBehindCount <= 0) {
+                lastBehindCount = behindCount;
+                return;
+            }
+            log.warn("布隆过滤器本地副本落后 {} 个元素，重新加载位图", behindCount);
+            lastBehindCount = 0;
+            load();
+        } catch (Exception e) {
+            log.error("布隆过滤器本地副本同步检查失败", e);
+        }
+    }
+
+    private void load() {
+        loading = true;
+        long startTime = System.currentTimeMillis();
+        try {
+            // 先读计数再复制位图：计数覆盖的元素在复制时一定已写入位图
+            long addCount = readAddCount();
+            copyFromRedis();
+            appliedAddCount.accumulateAndGet(addCount, Math::max);
+            ready = true;
+            log.info("布隆过滤器本地副本加载完成，位数：{}，哈希次数：{}，耗时：{}ms", size, hashIterations, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("布隆过滤器本地副本加载失败，继续使用 Redis 布隆过滤器", e);
+        } finally {
+            loading = false;
+            loadFinished = true;
+        }
+    }
+
+    /**
+     * 按块 GETRANGE 读取 Redis 位图，与本地位图按位或合并
+     */
+    private void copyFromRedis() {
+        byte[] key = RedisKeyConstant.SHORT_LINK_CREATE_BLOOM_FILTER.getBytes(StandardCharsets.UTF_8);
+        int byteLength = bits.capacity();
+        for (int offset = 0; offset < byteLength; offset += loadChunkBytes) {
+            long start = offset;
+            long end = Math.min((long) offset + loadChunkBytes, byteLength) - 1;
+            byte[] chunk = stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().getRange(key, start, end));
+            if (chunk == null || chunk.length == 0) {
+                // GETRANGE 超出已写入长度时返回空，后面全是 0
+                break;
+            }
+            synchronized (bitsLock) {
+                for (int i = 0; i < chunk.length; i++) {
+                    bits.put(offset + i, (byte) (bits.get(offset + i) | chunk[i]));
+                }
+            }
+        }
+    }
+
+    private long readAddCount() {
+        String addCount = stringRedisTemplate.opsForValue().get(RedisKeyConstant.SHORT_LINK_BLOOM_FILTER_ADD_COUNT);
+        return addCount == null ? 0 : Long.parseLong(addCount);
+    }
+
+    private void incrementAddCount(long delta) {
+        try {
+            stringRedisTemplate.opsForValue().increment(RedisKeyConstant.SHORT_LINK_BLOOM_FILTER_ADD_COUNT, delta);
+        } catch (Exception e) {
+            // 计数失败只影响丢失通知的发现，不影响本次新增
+            log.warn("布隆过滤器新增计数失败", e);
+        }
+    }
+
+    private boolean containsLocal(long[] indexes) {
+        for (long index : indexes) {
+            if ((bits.get((int) (index >>> 3)) & (0x80 >>> (index & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setLocal(long[] indexes) {
+        synchronized (bitsLock) {
+            for (long index : indexes) {
+                int byteIndex = (int) (index >>> 3);
+                bits.put(byteIndex, (byte) (bits.get(byteIndex) | (0x80 >>> (index & 7))));
+            }
+        }
+    }
+
+    /**
+     * 与 RedissonBloomFilter 相同的位下标计算：编码后做 HighwayHash 128，再以双重哈希生成 hashIterations 个下标
+     */
+    private long[] hash(String value) {
+        ByteBuf encoded;
+        try {
+            encoded = shortUriCreateCachePenetrationBloomFilter.getCodec().getValueEncoder().encode(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        long[] hashes;
+        try {
+            hashes = Hash.hash128(encoded);
+        } finally {
+            encoded.release();
+        }
+        long[] indexes = new long[hashIterations];
+        long hash = hashes[0];
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            if (i % 2 == 0) {
+                hash += hashes[1];
+            } else {
+                hash += hashes[0];
+            }
+        }
+        return indexes;
+    }
+}
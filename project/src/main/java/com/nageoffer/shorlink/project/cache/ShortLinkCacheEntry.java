@@ -0,0 +1,152 @@
+package com.nageoffer.shorlink.project.cache;
+
+import com.alibaba.fastjson.JSON;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * <p>
+ * 功能描述: Redis 中的短链接缓存值（跳转记录），只保存跳转需要的字段，并记录软过期时间和回源耗时
+ * </p>
+ * 格式：v1|{softExpireAt}|{loadCostMs}|{gid}|{enableStatus}|{validDate 毫秒，永久有效为空}|{originUrl}
+ * 1. 不再保存描述、图标、创建/修改时间等跳转用不到的字段，原始链接放在最后，其中的 | 无需转义
+ * 2. 按分隔符位置直接解析，不经过 JSON 反射，每次读取只分配 gid、originUrl 两个字符串和结果对象
+ * 3. 软过期时间早于 Redis Key 的过期时间，超过后仍返回旧值并触发一次异步刷新；
+ *    回源耗时用于提前刷新（XFetch），回源越慢越早开始刷新
+ * 兼容升级前写入的两种格式：完整短链接 JSON（没有软过期时间）、{softExpireAt}|{loadCostMs}|{JSON}
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public class ShortLinkCacheEntry {
+
+    private static final char SEPARATOR = '|';
+
+    private static final String VERSION_PREFIX = "v1|";
+
+    /**
+     * 短链接跳转记录，只包含 fullShortUrl、gid、enableStatus、validDate、originUrl
+     */
+    private final ShortLinkDO shortLink;
+
+    /**
+     * 软过期时间戳（毫秒），0 表示没有软过期时间
+     */
+    private final long softExpireAt;
+
+    /**
+     * 上次回源耗时（毫秒）
+     */
+    private final long loadCostMs;
+
+    /**
+     * 编码为缓存值
+     * @return 缓存值
+     */
+    public String encode() {
+        String originUrl = shortLink.getOriginUrl();
+        StringBuilder builder = new StringBuilder(64 + (originUrl == null ? 0 : originUrl.length()));
+        builder.append(VERSION_PREFIX)
+                .append(softExpireAt).append(SEPARATOR)
+                .append(loadCostMs).append(SEPARATOR)
+                .append(shortLink.getGid()).append(SEPARATOR);
+        if (shortLink.getEnableStatus() != null) {
+            builder.append(shortLink.getEnableStatus().intValue());
+        }
+        builder.append(SEPARATOR);
+        if (shortLink.getValidDate() != null) {
+            builder.append(shortLink.getValidDate().getTime());
+        }
+        builder.append(SEPARATOR);
+        if (originUrl != null) {
+            builder.append(originUrl);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 解析缓存值
+     * @param fullShortUrl 完整短链接，缓存值中不重复保存
+     * @param cachedValue 缓存值
+     * @return 缓存条目
+     * @throws IllegalArgumentException 缓存值被截断或不是上述任意一种格式
+     */
+    public static ShortLinkCacheEntry decode(String fullShortUrl, String cachedValue) {
+        try {
+            if (cachedValue.startsWith(VERSION_PREFIX)) {
+                return decodeRecord(fullShortUrl, cachedValue);
+            }
+            if (!cachedValue.isEmpty() && cachedValue.charAt(0) == '{') {
+                return new ShortLinkCacheEntry(parseLegacyJson(cachedValue), 0, 0);
+            }
+            int first = cachedValue.indexOf(SEPARATOR);
+            int second = cachedValue.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new IllegalArgumentException("缺少分隔符");
+            }
+            return new ShortLinkCacheEntry(
+                    parseLegacyJson(cachedValue.substring(second + 1)),
+                    Long.parseLong(cachedValue, 0, first, 10),
+                    Long.parseLong(cachedValue, first + 1, second, 10)
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("短链接缓存值格式错误：" + fullShortUrl, e);
+        }
+    }
+
+    /**
+     * 只保留跳转需要的字段，写入本地缓存前调用以减少堆占用
+     * @param shortLinkDO 短链接
+     * @return 跳转记录
+     */
+    public static ShortLinkDO toGotoRecord(ShortLinkDO shortLinkDO) {
+        ShortLinkDO gotoRecord = new ShortLinkDO();
+        gotoRecord.setFullShortUrl(shortLinkDO.getFullShortUrl());
+        gotoRecord.setGid(shortLinkDO.getGid());
+        gotoRecord.setEnableStatus(shortLinkDO.getEnableStatus());
+        gotoRecord.setValidDate(shortLinkDO.getValidDate());
+        gotoRecord.setOriginUrl(shortLinkDO.getOriginUrl());
+        return gotoRecord;
+    }
+
+    private static ShortLinkDO parseLegacyJson(String json) {
+        ShortLinkDO shortLinkDO = JSON.parseObject(json, ShortLinkDO.class);
+        if (shortLinkDO == null || shortLinkDO.getGid() == null || shortLinkDO.getOriginUrl() == null) {
+            throw new IllegalArgumentException("缺少 gid 或 originUrl");
+        }
+        return toGotoRecord(shortLinkDO);
+    }
+
+    private static ShortLinkCacheEntry decodeRecord(String fullShortUrl, String cachedValue) {
+        int softExpireEnd = cachedValue.indexOf(SEPARATOR, VERSION_PREFIX.length());
+        int loadCostEnd = softExpireEnd < 0 ? -1 : cachedValue.indexOf(SEPARATOR, softExpireEnd + 1);
+        int gidEnd = loadCostEnd < 0 ? -1 : cachedValue.indexOf(SEPARATOR, loadCostEnd + 1);
+        int enableStatusEnd = gidEnd < 0 ? -1 : cachedValue.indexOf(SEPARATOR, gidEnd + 1);
+        int validDateEnd = enableStatusEnd < 0 ? -1 : cachedValue.indexOf(SEPARATOR, enableStatusEnd + 1);
+        if (validDateEnd < 0) {
+            // 原始链接之前的 6 个分隔符缺一不可，缺少说明缓存值被截断
+            throw new IllegalArgumentException("缺少分隔符");
+        }
+
+        ShortLinkDO gotoRecord = new ShortLinkDO();
+        gotoRecord.setFullShortUrl(fullShortUrl);
+        gotoRecord.setGid(cachedValue.substring(loadCostEnd + 1, gidEnd));
+        if (enableStatusEnd > gidEnd + 1) {
+            gotoRecord.setEnableStatus(Integer.parseInt(cachedValue, gidEnd + 1, enableStatusEnd, 10));
+        }
+        if (validDateEnd > enableStatusEnd + 1) {
+            gotoRecord.setValidDate(new Date(Long.parseLong(cachedValue, enableStatusEnd + 1, validDateEnd, 10)));
+        }
+        gotoRecord.setOriginUrl(cachedValue.substring(validDateEnd + 1));
+        return new ShortLinkCacheEntry(
+                gotoRecord,
+                Long.parseLong(cachedValue, VERSION_PREFIX.length(), softExpireEnd, 10),
+                Long.parseLong(cachedValue, softExpireEnd + 1, loadCostEnd, 10)
+        );
+    }
+}
@@ -0,0 +1,302 @@
+package com.nageoffer.shorlink.project.cache;
+
+import cn.hutool.core.util.IdUtil;
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.toolkit.RateLimitedLogger;
+import com.nageoffer.shorlink.project.toolkit.VirtualThreadUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 功能描述: 短链接缓存未命中时的回源加载（single-flight），代替每次未命中都获取 Redisson 分布式锁
+ * </p>
+ * 1. 本节点内：同一短链接的并发未命中共用一个 CompletableFuture，只有第一个请求回源，其余请求等待其结果
+ * 2. 集群内：回源前 SET NX PX 设置一个短期守卫，只有拿到守卫的节点查询数据库；
+ *    其他节点在 guard-wait-ms 内轮询缓存，等不到再自行查询数据库，最多阻塞这段时间
+ * 3. 守卫以随机值标识持有者，回源结束后比较后删除，不会删掉其他节点的守卫
+ * 4. 缓存值软过期后由 refreshAsync 在后台刷新，跳转请求继续使用旧值，不经过本类的同步回源
+ * 5. 非阻塞跳转通过 loadAsync 在有界的回源调度器上执行上述阻塞流程，Redis 响应线程不会被数据库查询占用
+ * 热点短链接缓存过期时，整个集群通常只产生一次数据库查询
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkCacheLoader {
+
+    /**
+     * 值与持有者一致时才删除守卫
+     */
+    private static final DefaultRedisScript<Long> RELEASE_GUARD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class
+    );
+
+    /**
+     * 缓存大面积失效时每个请求都会回源，回源日志每秒最多输出 20 条
+     */
+    private static final RateLimitedLogger MISS_LOG = new RateLimitedLogger(log, 20);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkCacheManager shortLinkCacheManager;
+
+    /**
+     * 回源守卫有效期（毫秒），持有节点异常退出时守卫在此之后自动失效
+     */
+    @Value("${short-link.cache.load.guard-ttl-ms:3000}")
+    private long guardTtlMs;
+
+    /**
+     * 未拿到守卫时等待其他节点写入缓存的最长时间（毫秒）
+     */
+    @Value("${short-link.cache.load.guard-wait-ms:200}")
+    private long guardWaitMs;
+
+    /**
+     * 等待期间轮询缓存的间隔（毫秒）
+     */
+    @Value("${short-link.cache.load.guard-poll-interval-ms:20}")
+    private long guardPollIntervalMs;
+
+    /**
+     * 异步刷新线程数
+     */
+    @Value("${short-link.cache.refresh.pool-size:2}")
+    private int refreshPoolSize;
+
+    /**
+     * 异步刷新队列容量，队列满时放弃刷新
+     */
+    @Value("${short-link.cache.refresh.queue-capacity:1000}")
+    private int refreshQueueCapacity;
+
+    /**
+     * 非阻塞跳转回源调度器的最大线程数，即同时阻塞在数据库查询上的跳转请求上限
+     */
+    @Value("${short-link.cache.load.async-pool-size:32}")
+    private int asyncLoadPoolSize;
+
+    /**
+     * 回源调度器的最大排队任务数，超过后直接返回失败，不无限堆积
+     */
+    @Value("${short-link.cache.load.async-queue-capacity:10000}")
+    private int asyncLoadQueueCapacity;
+
+    /**
+     * 非阻塞跳转等待回源的最长时间（毫秒），超时后跳转到错误页
+     */
+    @Value("${short-link.cache.load.async-timeout-ms:3000}")
+    private long asyncLoadTimeoutMs;
+
+    /**
+     * 是否使用虚拟线程执行缓存异步刷新（JDK 21 及以上生效）
+     */
+    @Value("${short-link.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    private final ConcurrentHashMap<String, CompletableFuture<ShortLinkCacheResult>> inflightLoads = new ConcurrentHashMap<>();
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor refreshExecutor;
+    private Scheduler asyncLoadScheduler;
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = new ThreadPoolExecutor(
+                refreshPoolSize,
+                refreshPoolSize,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refreshQueueCapacity),
+                VirtualThreadUtil.newThreadFactory("short-link-cache-refresh", virtualThreadsEnabled)
+        );
+        asyncLoadScheduler = Schedulers.newBoundedElastic(asyncLoadPoolSize, asyncLoadQueueCapacity, "short-link-cache-load", 60, true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+        asyncLoadScheduler.dispose();
+    }
+
+    /**
+     * 加载短链接：同一节点同一短链接同时只回源一次，结果写入缓存
+     * @param fullShortUrl 完整短链接
+     * @param databaseLoader 数据库查询方法，不存在返回 null，查询失败抛出异常（不写入空值缓存）
+     * @return 命中正常值或命中空值，不会返回未命中
+     */
+    public ShortLinkCacheResult load(String fullShortUrl, Supplier<ShortLinkDO> databaseLoader) {
+        CompletableFuture<ShortLinkCacheResult> promise = new CompletableFuture<>();
+        CompletableFuture<ShortLinkCacheResult> inflight = inflightLoads.putIfAbsent(fullShortUrl, promise);
+        if (inflight != null) {
+            try {
+                return inflight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            ShortLinkCacheResult result = loadWithGuard(fullShortUrl, databaseLoader);
+            promise.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflightLoads.remove(fullShortUrl, promise);
+        }
+    }
+
+    /**
+     * 在回源调度器上加载短链接，供非阻塞跳转使用
+     * @param fullShortUrl 完整短链接
+     * @param mightExist 回源前的存在性检查（布隆过滤器），返回 false 时直接视为不存在，不写入空值缓存
+     * @param databaseLoader 数据库查询方法，不存在返回 null，查询失败抛出异常（不写入空值缓存）
+     * @return 命中正常值或命中空值；回源失败、超时或排队已满时以异常结束
+     */
+    public Mono<ShortLinkCacheResult> loadAsync(String fullShortUrl, BooleanSupplier mightExist, Supplier<ShortLinkDO> databaseLoader) {
+        return Mono.fromCallable(() -> mightExist.getAsBoolean() ? load(fullShortUrl, databaseLoader) : ShortLinkCacheResult.nullHit())
+                .subscribeOn(asyncLoadScheduler)
+                .timeout(Duration.ofMillis(asyncLoadTimeoutMs));
+    }
+
+    private ShortLinkCacheResult loadWithGuard(String fullShortUrl, Supplier<ShortLinkDO> databaseLoader) {
+        String guardKey = RedisKeyConstant.getLockKey(fullShortUrl);
+        String guardValue = IdUtil.fastSimpleUUID();
+        boolean guarded = acquireGuard(guardKey, guardValue);
+        try {
+            // 拿到守卫前其他节点可能刚写入缓存
+            ShortLinkCacheResult cacheResult = guarded ? shortLinkCacheManager.get(fullShortUrl) : waitForCache(fullShortUrl);
+            if (!cacheResult.isMiss()) {
+                return cacheResult;
+            }
+            MISS_LOG.info("缓存未命中，查询数据库：{}", fullShortUrl);
+            ShortLinkDO shortLinkDO = loadAndCache(fullShortUrl, databaseLoader);
+            return shortLinkDO == null ? ShortLinkCacheResult.nullHit() : ShortLinkCacheResult.hit(shortLinkDO);
+        } finally {
+            if (guarded) {
+                releaseGuard(guardKey, guardValue);
+            }
+        }
+    }
+
+    /**
+     * 异步刷新已软过期的缓存，调用方继续使用旧值。同一短链接在本节点同时只有一个刷新任务，
+     * 集群内由回源守卫保证只有一个节点查询数据库，其他节点直接放弃
+     * @param fullShortUrl 完整短链接
+     * @param databaseLoader 数据库查询方法
+     */
+    public void refreshAsync(String fullShortUrl, Supplier<ShortLinkDO> databaseLoader) {
+        if (!refreshingKeys.add(fullShortUrl)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(fullShortUrl, databaseLoader);
+                } catch (Exception e) {
+                    log.warn("异步刷新短链接缓存失败，继续使用旧值：{}", fullShortUrl, e);
+                } finally {
+                    refreshingKeys.remove(fullShortUrl);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 刷新队列已满时放弃，下次读取会再次触发
+            refreshingKeys.remove(fullShortUrl);
+        }
+    }
+
+    private void refresh(String fullShortUrl, Supplier<ShortLinkDO> databaseLoader) {
+        String guardKey = RedisKeyConstant.getLockKey(fullShortUrl);
+        String guardValue = IdUtil.fastSimpleUUID();
+        if (!acquireGuard(guardKey, guardValue)) {
+            return;
+        }
+        try {
+            loadAndCache(fullShortUrl, databaseLoader);
+            log.debug("异步刷新短链接缓存完成：{}", fullShortUrl);
+        } finally {
+            releaseGuard(guardKey, guardValue);
+        }
+    }
+
+    /**
+     * 查询数据库并写入缓存：不存在时写入空值，已过期时不写入
+     * @return 短链接，不存在返回 null
+     */
+    private ShortLinkDO loadAndCache(String fullShortUrl, Supplier<ShortLinkDO> databaseLoader) {
+        long startTime = System.currentTimeMillis();
+        ShortLinkDO shortLinkDO = databaseLoader.get();
+        long loadCostMs = System.currentTimeMillis() - startTime;
+        if (shortLinkDO == null) {
+            // 防止布隆过滤器误判导致重复查询数据库
+            shortLinkCacheManager.putNull(fullShortUrl);
+            return null;
+        }
+        if (shortLinkDO.getValidDate() == null || shortLinkDO.getValidDate().getTime() > System.currentTimeMillis()) {
+            shortLinkCacheManager.put(fullShortUrl, shortLinkDO, loadCostMs);
+        }
+        return shortLinkDO;
+    }
+
+    private boolean acquireGuard(String guardKey, String guardValue) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(guardKey, guardValue, guardTtlMs, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            // Redis 不可用时直接回源，本节点内仍只有一个请求查询数据库
+            log.warn("设置回源守卫失败，直接查询数据库：{}", guardKey, e);
+            return true;
+        }
+    }
+
+    private void releaseGuard(String guardKey, String guardValue) {
+        try {
+            stringRedisTemplate.execute(RELEASE_GUARD_SCRIPT, Collections.singletonList(guardKey), guardValue);
+        } catch (Exception e) {
+            log.warn("释放回源守卫失败，等待自动过期：{}", guardKey, e);
+        }
+    }
+
+    private ShortLinkCacheResult waitForCache(String fullShortUrl) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(guardWaitMs);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(guardPollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            ShortLinkCacheResult cacheResult = shortLinkCacheManager.get(fullShortUrl);
+            if (!cacheResult.isMiss()) {
+                return cacheResult;
+            }
+        }
+        log.warn("等待其他节点回源超时，直接查询数据库：{}", fullShortUrl);
+        return ShortLinkCacheResult.miss();
+    }
+}
@@ -0,0 +1,285 @@
+package com.nageoffer.shorlink.project.cache;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.toolkit.LinkUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * 功能描述: 短链接缓存访问层，统一管理本地缓存和 Redis 缓存
+ * </p>
+ * 正常值和空值写在同一个 Key 下，一次 GET 即可区分命中、空值命中、未命中。
+ * 正常值带软过期时间（见 ShortLinkCacheEntry），过期后仍然命中并提示调用方异步刷新，热点短链接不会在访问中过期
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkCacheManager {
+
+    /**
+     * 空值缓存标记
+     */
+    public static final String NULL_VALUE = "null";
+
+    /**
+     * 空值缓存有效期（分钟）
+     */
+    private static final long NULL_VALUE_TTL_MINUTES = 30;
+
+    /**
+     * 批量写入时每个管道发送的命令数量
+     */
+    private static final int PIPELINE_BATCH_SIZE = 1000;
+
+    /**
+     * 批量写入时达到该条数才并行序列化
+     */
+    private static final int PARALLEL_SERIALIZE_THRESHOLD = 256;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final ShortLinkLocalCache shortLinkLocalCache;
+
+    /**
+     * 软过期时间（秒），超过后读取仍返回旧值并触发异步刷新；不会晚于 Redis Key 本身的过期时间
+     */
+    @Value("${short-link.cache.soft-ttl-seconds:86400}")
+    private long softTtlSeconds;
+
+    /**
+     * 提前刷新系数（XFetch 的 beta），越大越早刷新，0 表示只在软过期后刷新
+     */
+    @Value("${short-link.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    /**
+     * 非阻塞查询 Redis 的最长等待时间（毫秒），超时按未命中处理
+     */
+    @Value("${short-link.cache.load.async-timeout-ms:3000}")
+    private long asyncTimeoutMs;
+
+    /**
+     * 查询短链接缓存，先查本地缓存，未命中再查 Redis
+     * @param fullShortUrl 完整短链接
+     * @return 查询结果
+     */
+    public ShortLinkCacheResult get(String fullShortUrl) {
+        ShortLinkDO localShortLink = shortLinkLocalCache.get(fullShortUrl);
+        if (localShortLink != null) {
+            return ShortLinkCacheResult.hit(localShortLink);
+        }
+        try {
+            String cachedValue = stringRedisTemplate.opsForValue().get(RedisKeyConstant.getShortLinkCacheKey(fullShortUrl));
+            return toCacheResult(fullShortUrl, cachedValue);
+        } catch (Exception e) {
+            log.error("从缓存读取短链接失败：{}", fullShortUrl, e);
+            return ShortLinkCacheResult.miss();
+        }
+    }
+
+    /**
+     * 非阻塞查询短链接缓存，本地缓存命中时直接返回，否则通过响应式 Redis 客户端查询，不占用调用线程
+     * @param fullShortUrl 完整短链接
+     * @return 查询结果，Redis 异常或超时时为未命中
+     */
+    public Mono<ShortLinkCacheResult> getAsync(String fullShortUrl) {
+        ShortLinkDO localShortLink = shortLinkLocalCache.get(fullShortUrl);
+        if (localShortLink != null) {
+            return Mono.just(ShortLinkCacheResult.hit(localShortLink));
+        }
+        return reactiveStringRedisTemplate.opsForValue().get(RedisKeyConstant.getShortLinkCacheKey(fullShortUrl))
+                .map(cachedValue -> toCacheResult(fullShortUrl, cachedValue))
+                .defaultIfEmpty(ShortLinkCacheResult.miss())
+                .timeout(Duration.ofMillis(asyncTimeoutMs))
+                .onErrorResume(e -> {
+                    log.error("从缓存读取短链接失败：{}", fullShortUrl, e);
+                    return Mono.just(ShortLinkCacheResult.miss());
+                });
+    }
+
+    /**
+     * 将短链接写入 Redis 缓存，有效期由 LinkUtil 根据短链接有效期计算
+     * @param fullShortUrl 完整短链接
+     * @param shortLinkDO 短链接对象
+     */
+    public void put(String fullShortUrl, ShortLinkDO shortLinkDO) {
+        put(fullShortUrl, shortLinkDO, 0);
+    }
+
+    /**
+     * 将回源得到的短链接写入 Redis 缓存，记录回源耗时用于提前刷新
+     * @param fullShortUrl 完整短链接
+     * @param shortLinkDO 短链接对象
+     * @param loadCostMs 回源耗时（毫秒）
+     */
+    public void put(String fullShortUrl, ShortLinkDO shortLinkDO, long loadCostMs) {
+        try {
+            long cacheValidTime = LinkUtil.getLinkCacheValidDate(shortLinkDO.getValidDate());
+            stringRedisTemplate.opsForValue().set(
+                    RedisKeyConstant.getShortLinkCacheKey(fullShortUrl),
+                    newEntry(shortLinkDO, cacheValidTime, loadCostMs).encode(),
+                    cacheValidTime,
+                    TimeUnit.MILLISECONDS
+            );
+            log.debug("写入缓存成功：{}，TTL={}ms", fullShortUrl, cacheValidTime);
+        } catch (Exception e) {
+            log.error("写入缓存失败：{}", fullShortUrl, e);
+        }
+    }
+
+    /**
+     * 以管道方式批量写入 Redis 缓存，有效期由 LinkUtil 根据各短链接有效期计算。
+     * 按 PIPELINE_BATCH_SIZE 分批发送，单批失败不影响其余批次
+     * @param shortLinkList 短链接列表
+     * @return 写入成功的条数
+     */
+    public int putAll(List<ShortLinkDO> shortLinkList) {
+        int written = 0;
+        for (int i = 0; i < shortLinkList.size(); i += PIPELINE_BATCH_SIZE) {
+            List<ShortLinkDO> batch = shortLinkList.subList(i, Math.min(i + PIPELINE_BATCH_SIZE, shortLinkList.size()));
+            try {
+                putBatch(batch);
+                written += batch.size();
+            } catch (Exception e) {
+                log.error("批量写入缓存失败，{} 条", batch.size(), e);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 只写入本节点本地缓存，用于预热热点短链接
+     * @param shortLinkList 短链接列表
+     */
+    public void putAllLocal(List<ShortLinkDO> shortLinkList) {
+        shortLinkList.forEach(each -> shortLinkLocalCache.put(each.getFullShortUrl(), ShortLinkCacheEntry.toGotoRecord(each)));
+    }
+
+    /**
+     * 写入空值缓存，防止布隆过滤器误判导致重复查询数据库
+     * @param fullShortUrl 完整短链接
+     */
+    public void putNull(String fullShortUrl) {
+        try {
+            stringRedisTemplate.opsForValue().set(
+                    RedisKeyConstant.getShortLinkCacheKey(fullShortUrl),
+                    NULL_VALUE,
+                    NULL_VALUE_TTL_MINUTES,
+                    TimeUnit.MINUTES
+            );
+        } catch (Exception e) {
+            log.error("写入空值缓存失败：{}", fullShortUrl, e);
+        }
+    }
+
+    /**
+     * 删除 Redis 缓存（包括空值缓存），并通知所有节点清除本地缓存
+     * @param fullShortUrl 完整短链接
+     */
+    public void evict(String fullShortUrl) {
+        try {
+            stringRedisTemplate.delete(RedisKeyConstant.getShortLinkCacheKey(fullShortUrl));
+        } catch (Exception e) {
+            log.error("删除缓存失败：{}", fullShortUrl, e);
+        }
+        shortLinkLocalCache.evict(fullShortUrl);
+    }
+
+    /**
+     * 刷新短链接缓存：重写 Redis 缓存，并通知所有节点清除本地缓存
+     * @param fullShortUrl 完整短链接
+     * @param shortLinkDO 短链接对象
+     */
+    public void refresh(String fullShortUrl, ShortLinkDO shortLinkDO) {
+        put(fullShortUrl, shortLinkDO);
+        shortLinkLocalCache.evict(fullShortUrl);
+    }
+
+    /**
+     * 批量刷新短链接缓存：以管道方式重写 Redis 缓存，并用一条广播清除所有节点的本地缓存
+     * @param shortLinkList 短链接列表
+     */
+    public void refreshAll(List<ShortLinkDO> shortLinkList) {
+        if (shortLinkList.isEmpty()) {
+            return;
+        }
+        putAll(shortLinkList);
+        shortLinkLocalCache.evictAll(shortLinkList.stream().map(ShortLinkDO::getFullShortUrl).collect(Collectors.toList()));
+    }
+
+    private void putBatch(List<ShortLinkDO> batch) {
+        // 序列化的开销远大于管道写入，条数较多时先并行序列化，再在一个管道中顺序发送
+        String[] values = new String[batch.size()];
+        IntStream indexes = IntStream.range(0, batch.size());
+        (batch.size() >= PARALLEL_SERIALIZE_THRESHOLD ? indexes.parallel() : indexes)
+                .forEach(index -> {
+                    ShortLinkDO shortLinkDO = batch.get(index);
+                    values[index] = newEntry(shortLinkDO, LinkUtil.getLinkCacheValidDate(shortLinkDO.getValidDate()), 0).encode();
+                });
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (int i = 0; i < batch.size(); i++) {
+                ShortLinkDO shortLinkDO = batch.get(i);
+                stringRedisConnection.set(
+                        RedisKeyConstant.getShortLinkCacheKey(shortLinkDO.getFullShortUrl()),
+                        values[i],
+                        Expiration.milliseconds(LinkUtil.getLinkCacheValidDate(shortLinkDO.getValidDate())),
+                        RedisStringCommands.SetOption.UPSERT
+                );
+            }
+            return null;
+        });
+    }
+
+    private ShortLinkCacheResult toCacheResult(String fullShortUrl, String cachedValue) {
+        if (cachedValue == null || cachedValue.isEmpty()) {
+            return ShortLinkCacheResult.miss();
+        }
+        if (NULL_VALUE.equals(cachedValue)) {
+            return ShortLinkCacheResult.nullHit();
+        }
+        ShortLinkCacheEntry cacheEntry = ShortLinkCacheEntry.decode(fullShortUrl, cachedValue);
+        ShortLinkDO shortLinkDO = cacheEntry.getShortLink();
+        // Redis 命中后回填本地缓存
+        shortLinkLocalCache.put(fullShortUrl, shortLinkDO);
+        return shouldRefresh(cacheEntry) ? ShortLinkCacheResult.staleHit(shortLinkDO) : ShortLinkCacheResult.hit(shortLinkDO);
+    }
+
+    private ShortLinkCacheEntry newEntry(ShortLinkDO shortLinkDO, long cacheValidTime, long loadCostMs) {
+        long softTtlMs = Math.min(TimeUnit.SECONDS.toMillis(softTtlSeconds), cacheValidTime);
+        return new ShortLinkCacheEntry(shortLinkDO, System.currentTimeMillis() + softTtlMs, loadCostMs);
+    }
+
+    /**
+     * XFetch：now - loadCost * beta * ln(rand) >= softExpireAt 时刷新。
+     * 越接近软过期、回源越慢，提前刷新的概率越大；超过软过期后一定刷新
+     */
+    private boolean shouldRefresh(ShortLinkCacheEntry cacheEntry) {
+        if (cacheEntry.getSoftExpireAt() <= 0) {
+            return false;
+        }
+        double earlyMs = -cacheEntry.getLoadCostMs() * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + earlyMs >= cacheEntry.getSoftExpireAt();
+    }
+}
@@ -0,0 +1,84 @@
+package com.nageoffer.shorlink.project.cache;
+
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <p>
+ * 功能描述: 短链接缓存查询结果
+ * </p>
+ * 一次查询区分三种状态：命中正常值、命中空值、未命中
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ShortLinkCacheResult {
+
+    private static final ShortLinkCacheResult NULL_HIT = new ShortLinkCacheResult(Status.NULL_HIT, null, false);
+
+    private static final ShortLinkCacheResult MISS = new ShortLinkCacheResult(Status.MISS, null, false);
+
+    /**
+     * 查询状态
+     */
+    private final Status status;
+
+    /**
+     * 缓存的短链接，仅 HIT 时不为空
+     */
+    private final ShortLinkDO shortLink;
+
+    /**
+     * 命中的值已过软过期时间或被选中提前刷新，调用方应触发一次异步刷新
+     */
+    private final boolean refreshNeeded;
+
+    public static ShortLinkCacheResult hit(ShortLinkDO shortLinkDO) {
+        return new ShortLinkCacheResult(Status.HIT, shortLinkDO, false);
+    }
+
+    public static ShortLinkCacheResult staleHit(ShortLinkDO shortLinkDO) {
+        return new ShortLinkCacheResult(Status.HIT, shortLinkDO, true);
+    }
+
+    public static ShortLinkCacheResult nullHit() {
+        return NULL_HIT;
+    }
+
+    public static ShortLinkCacheResult miss() {
+        return MISS;
+    }
+
+    public boolean isHit() {
+        return status == Status.HIT;
+    }
+
+    public boolean isNullHit() {
+        return status == Status.NULL_HIT;
+    }
+
+    public boolean isMiss() {
+        return status == Status.MISS;
+    }
+
+    public enum Status {
+        /**
+         * 命中正常值
+         */
+        HIT,
+
+        /**
+         * 命中空值（短链接不存在）
+         */
+        NULL_HIT,
+
+        /**
+         * 未命中
+         */
+        MISS
+    }
+}
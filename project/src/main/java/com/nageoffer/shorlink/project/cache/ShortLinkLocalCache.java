@@ -0,0 +1,152 @@
+package com.nageoffer.shorlink.project.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.toolkit.LinkUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static com.nageoffer.shorlink.project.common.constant.RedisKeyConstant.SHORT_LINK_CACHE_INVALIDATE_TOPIC;
+
+/**
+ * <p>
+ * 功能描述: 短链接本地缓存（一级缓存），位于 Redis 之前
+ * </p>
+ * 只缓存跳转需要的已解析短链接，容量和过期时间都有上限：
+ * 1. 过期时间取 LinkUtil.getLinkCacheValidDate 与 max-ttl-seconds 中的较小值，不会晚于短链接本身的有效期
+ * 2. 修改、移入回收站、删除时通过 Redis Pub/Sub 广播失效，所有节点同步清除
+ * 3. 广播消息丢失时由 max-ttl-seconds 兜底，最多读到这段时间内的旧数据
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkLocalCache {
+
+    /**
+     * 批量失效消息中短链接之间的分隔符
+     */
+    private static final String KEY_SEPARATOR = "\n";
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * 本地缓存最大条目数
+     */
+    @Value("${short-link.cache.local.maximum-size:100000}")
+    private long maximumSize;
+
+    /**
+     * 本地缓存最长存活时间（秒）
+     */
+    @Value("${short-link.cache.local.max-ttl-seconds:600}")
+    private long maxTtlSeconds;
+
+    private Cache<String, ShortLinkDO> cache;
+    private RTopic invalidateTopic;
+    private int listenerId;
+
+    @PostConstruct
+    public void init() {
+        long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, ShortLinkDO>() {
+                    @Override
+                    public long expireAfterCreate(String key, ShortLinkDO value, long currentTime) {
+                        return expireNanos(value, maxTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, ShortLinkDO value, long currentTime, long currentDuration) {
+                        return expireNanos(value, maxTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, ShortLinkDO value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        invalidateTopic = redissonClient.getTopic(SHORT_LINK_CACHE_INVALIDATE_TOPIC, StringCodec.INSTANCE);
+        listenerId = invalidateTopic.addListener(String.class, (channel, message) -> {
+            // 批量失效时一条消息包含多个短链接，以换行分隔
+            for (String fullShortUrl : message.split(KEY_SEPARATOR)) {
+                cache.invalidate(fullShortUrl);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (invalidateTopic != null) {
+            invalidateTopic.removeListener(listenerId);
+        }
+    }
+
+    /**
+     * 查询本地缓存
+     * @param fullShortUrl 完整短链接
+     * @return 短链接对象，不存在返回 null
+     */
+    public ShortLinkDO get(String fullShortUrl) {
+        return cache.getIfPresent(fullShortUrl);
+    }
+
+    /**
+     * 写入本地缓存
+     * @param fullShortUrl 完整短链接
+     * @param shortLinkDO 短链接对象
+     */
+    public void put(String fullShortUrl, ShortLinkDO shortLinkDO) {
+        cache.put(fullShortUrl, shortLinkDO);
+    }
+
+    /**
+     * 清除本节点及其他所有节点的本地缓存
+     * @param fullShortUrl 完整短链接
+     */
+    public void evict(String fullShortUrl) {
+        cache.invalidate(fullShortUrl);
+        try {
+            invalidateTopic.publish(fullShortUrl);
+        } catch (Exception e) {
+            log.error("广播本地缓存失效失败：{}", fullShortUrl, e);
+        }
+    }
+
+    /**
+     * 批量清除本节点及其他所有节点的本地缓存，只广播一条消息
+     * @param fullShortUrls 完整短链接列表
+     */
+    public void evictAll(Collection<String> fullShortUrls) {
+        if (fullShortUrls.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(fullShortUrls);
+        try {
+            invalidateTopic.publish(String.join(KEY_SEPARATOR, fullShortUrls));
+        } catch (Exception e) {
+            log.error("批量广播本地缓存失效失败，{} 条", fullShortUrls.size(), e);
+        }
+    }
+
+    private static long expireNanos(ShortLinkDO shortLinkDO, long maxTtlNanos) {
+        long validNanos = TimeUnit.MILLISECONDS.toNanos(LinkUtil.getLinkCacheValidDate(shortLinkDO.getValidDate()));
+        return Math.max(0L, Math.min(validNanos, maxTtlNanos));
+    }
+}
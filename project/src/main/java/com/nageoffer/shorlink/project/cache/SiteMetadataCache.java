@@ -0,0 +1,170 @@
+package com.nageoffer.shorlink.project.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * 功能描述: 站点元数据缓存，按站点缓存图标、按标准化 URL 缓存网站标题
+ * </p>
+ * 本地 Caffeine 缓存在前，Redis 在后，两级都有容量或有效期上限：
+ * 1. 获取成功的结果缓存 ttl-hours，获取失败（超时、4xx/5xx、无标题）写入空值标记，只缓存 negative-ttl-seconds，
+ *    不可达的站点在这段时间内不会再次发起请求
+ * 2. Redis Key 见 RedisKeyConstant.getSiteFaviconKey / getSiteTitleKey，后管获取标题时也会先读取
+ * 3. 同一 Key 的并发未命中合并为一次请求；loader 异常完成（如超过并发上限）视为暂时性失败，不缓存
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SiteMetadataCache {
+
+    /**
+     * 空值缓存标记，与 ShortLinkCacheManager 一致
+     */
+    public static final String NULL_VALUE = ShortLinkCacheManager.NULL_VALUE;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 本地缓存最大条目数
+     */
+    @Value("${short-link.site-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    /**
+     * 获取成功的结果缓存时间（小时）
+     */
+    @Value("${short-link.site-cache.ttl-hours:24}")
+    private long ttlHours;
+
+    /**
+     * 获取失败的空值标记缓存时间（秒）
+     */
+    @Value("${short-link.site-cache.negative-ttl-seconds:300}")
+    private long negativeTtlSeconds;
+
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inflightLoads = new ConcurrentHashMap<>();
+    private Cache<String, String> cache;
+
+    @PostConstruct
+    public void init() {
+        long ttlNanos = TimeUnit.HOURS.toNanos(ttlHours);
+        long negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, String>() {
+                    @Override
+                    public long expireAfterCreate(String key, String value, long currentTime) {
+                        return NULL_VALUE.equals(value) ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, String value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, String value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 获取站点图标，缓存未命中时调用 loader 获取并写入缓存
+     * @param host 站点域名
+     * @param loader 图标获取方法，获取失败返回 null，异常完成时不缓存
+     * @return 图标 URL，获取失败（包括空值缓存命中）为 null
+     */
+    public CompletableFuture<String> getFavicon(String host, Supplier<CompletableFuture<String>> loader) {
+        return get(RedisKeyConstant.getSiteFaviconKey(host), loader);
+    }
+
+    /**
+     * 获取网站标题，缓存未命中时调用 loader 获取并写入缓存
+     * @param normalizedUrl 标准化后的 URL
+     * @param loader 标题获取方法，获取失败返回 null，异常完成时不缓存
+     * @return 网站标题，获取失败（包括空值缓存命中）为 null
+     */
+    public CompletableFuture<String> getTitle(String normalizedUrl, Supplier<CompletableFuture<String>> loader) {
+        return get(RedisKeyConstant.getSiteTitleKey(normalizedUrl), loader);
+    }
+
+    private CompletableFuture<String> get(String key, Supplier<CompletableFuture<String>> loader) {
+        String cachedValue = cache.getIfPresent(key);
+        if (cachedValue == null) {
+            cachedValue = getFromRedis(key);
+            if (cachedValue != null) {
+                cache.put(key, cachedValue);
+            }
+        }
+        if (cachedValue != null) {
+            return CompletableFuture.completedFuture(NULL_VALUE.equals(cachedValue) ? null : cachedValue);
+        }
+
+        // 同一 Key 同时只发起一次请求，其余调用共用结果
+        CompletableFuture<String> promise = new CompletableFuture<>();
+        CompletableFuture<String> inflight = inflightLoads.putIfAbsent(key, promise);
+        if (inflight != null) {
+            return inflight;
+        }
+        CompletableFuture<String> loading;
+        try {
+            loading = loader.get();
+        } catch (Exception e) {
+            loading = new CompletableFuture<>();
+            loading.completeExceptionally(e);
+        }
+        loading.whenComplete((loadedValue, ex) -> {
+            inflightLoads.remove(key, promise);
+            if (ex != null) {
+                // 超过并发上限等暂时性失败不缓存
+                log.warn("获取站点元数据失败，不写入缓存：{}，{}", key, ex.getMessage());
+                promise.complete(null);
+                return;
+            }
+            put(key, loadedValue);
+            promise.complete(loadedValue);
+        });
+        return promise;
+    }
+
+    private void put(String key, String loadedValue) {
+        cache.put(key, loadedValue == null ? NULL_VALUE : loadedValue);
+        try {
+            if (loadedValue == null) {
+                stringRedisTemplate.opsForValue().set(key, NULL_VALUE, negativeTtlSeconds, TimeUnit.SECONDS);
+            } else {
+                stringRedisTemplate.opsForValue().set(key, loadedValue, ttlHours, TimeUnit.HOURS);
+            }
+        } catch (Exception e) {
+            log.error("写入站点元数据缓存失败：{}", key, e);
+        }
+    }
+
+    private String getFromRedis(String key) {
+        try {
+            return stringRedisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.error("读取站点元数据缓存失败：{}", key, e);
+            return null;
+        }
+    }
+}
@@ -25,6 +25,20 @@ public class RedisKeyConstant {
      * 用于防止查询不存在的短链接时穿透到数据库
      */
     public static final String SHORT_LINK_CREATE_BLOOM_FILTER = "short_link:bloom_filter:create";
+
+    /**
+     * 布隆过滤器新增元素广播频道
+     * 值类型：Pub/Sub 消息，消息内容为 fullShortUrl
+     * 用途：新增短链接后通知所有节点更新布隆过滤器本地副本
+     */
+    public static final String SHORT_LINK_BLOOM_FILTER_ADD_TOPIC = "short_link:bloom_filter:add";
+
+    /**
+     * 布隆过滤器累计新增元素数量
+     * 值类型：String（INCRBY 计数）
+     * 用途：各节点定期与本地收到的新增通知数量比较，发现通知丢失时重新加载本地副本
+     */
+    public static final String SHORT_LINK_BLOOM_FILTER_ADD_COUNT = "short_link:bloom_filter:add_count";
     
     /**
      * 短链接缓存前缀
@@ -33,7 +47,14 @@ public class RedisKeyConstant {
      * 用途：缓存短链接详情，减少数据库查询
      */
     public static final String SHORT_LINK_CACHE_PREFIX = "short_link:cache:";
-    
+
+    /**
+     * 短链接本地缓存失效广播频道
+     * 值类型：Pub/Sub 消息，消息内容为 fullShortUrl
+     * 用途：短链接修改、移入回收站、删除后通知所有节点清除本地缓存
+     */
+    public static final String SHORT_LINK_CACHE_INVALIDATE_TOPIC = "short_link:cache:invalidate";
+
     /**
      * 短链接访问统计前缀
      * 格式：short_link:stats:{shortUri}
@@ -42,6 +63,15 @@ public class RedisKeyConstant {
      * 字段：pv(访问量)、uv(独立访客)、today_pv、today_uv
      */
     public static final String SHORT_LINK_STATS_PREFIX = "short_link:stats:";
+
+    /**
+     * 短链接点击量（近实时镜像）
+     * 格式：short_link:click_num:{fullShortUrl}
+     * 示例：short_link:click_num:localhost:8001/abc123
+     * 值类型：String (计数器)
+     * 用途：点击计数器刷盘时同步 INCRBY，供读取近实时点击量，t_link.click_num 仍为准确值
+     */
+    public static final String SHORT_LINK_CLICK_NUM_PREFIX = "short_link:click_num:";
     
     /**
      * 短链接 UV 统计（独立访客）
@@ -54,12 +84,60 @@ public class RedisKeyConstant {
     
     /**
      * 短链接今日 UV 统计
-     * 格式：short_link:uv:{shortUri}:{date}
-     * 示例：short_link:uv:abc123:20251010
+     * 格式：short_link:uv:daily:{fullShortUrl}:{date}
+     * 示例：short_link:uv:daily:localhost:8001/abc123:20251010
      * 值类型：HyperLogLog
      * 用途：统计每日独立访客，按天分开存储
      */
     public static final String SHORT_LINK_UV_DAILY_PREFIX = "short_link:uv:daily:";
+
+    /**
+     * 短链接今日独立 IP 统计
+     * 格式：short_link:uip:daily:{fullShortUrl}:{date}
+     * 示例：short_link:uip:daily:localhost:8001/abc123:20251010
+     * 值类型：HyperLogLog
+     * 用途：统计每日独立 IP，按天分开存储
+     */
+    public static final String SHORT_LINK_UIP_DAILY_PREFIX = "short_link:uip:daily:";
+
+    /**
+     * 待汇总 UV/UIP 的短链接集合
+     * 格式：short_link:uv:dirty
+     * 值类型：Set
+     * 成员：{date}|{gid}|{fullShortUrl}
+     * 用途：记录 HyperLogLog 有新增的短链接，由 LinkUvRollupScheduledJob 汇总后移除
+     */
+    public static final String SHORT_LINK_UV_DIRTY = "short_link:uv:dirty";
+
+    /**
+     * 已汇总的 UV/UIP 基数
+     * 格式：short_link:uv:rolled:{date}
+     * 值类型：Hash
+     * 字段：{gid}|{fullShortUrl}，值：{uv}:{uip}
+     * 用途：记录上次汇总时的 PFCOUNT 结果，本次只把差值写入数据库
+     */
+    public static final String SHORT_LINK_UV_ROLLED_PREFIX = "short_link:uv:rolled:";
+
+    /**
+     * UV/UIP 汇总任务分布式锁
+     * 用途：多实例部署时同一时刻只有一个实例执行汇总
+     */
+    public static final String SHORT_LINK_UV_ROLLUP_LOCK = "short_link:lock:uv_rollup";
+
+    /**
+     * 分组短链接数量
+     * 格式：short_link:group:count
+     * 值类型：Hash
+     * 字段：{gid}，值：分组下已启用且未删除的短链接数量
+     * 用途：创建、移入回收站、恢复、修改分组时增量维护，由 ShortLinkGroupCountReconcileJob 定期按数据库校正
+     */
+    public static final String SHORT_LINK_GROUP_COUNT_KEY = "short_link:group:count";
+
+    /**
+     * 分组短链接数量校正任务分布式锁
+     * 用途：多实例部署时同一时刻只有一个实例执行校正
+     */
+    public static final String SHORT_LINK_GROUP_COUNT_RECONCILE_LOCK = "short_link:lock:group_count_reconcile";
     
     /**
      * 访问频率限流
@@ -82,11 +160,11 @@ public class RedisKeyConstant {
     public static final String SHORT_LINK_ACCESS_RECORD_PREFIX = "short_link:access:";
     
     /**
-     * 短链接跳转分布式锁
+     * 短链接回源守卫
      * 格式：short_link:lock:{fullShortUrl}
      * 示例：short_link:lock:localhost:8001/abc123
-     * 用途：防止并发更新点击统计时的数据不一致
-     * TTL：10秒
+     * 用途：缓存未命中时 SET NX PX，集群内同一短链接同时只有一个节点查询数据库（见 ShortLinkCacheLoader）
+     * TTL：short-link.cache.load.guard-ttl-ms，默认 3 秒
      */
     public static final String SHORT_LINK_LOCK_PREFIX = "short_link:lock:";
     
@@ -94,19 +172,50 @@ public class RedisKeyConstant {
      * 热点短链接排行榜
      * 格式：short_link:hot:rank
      * 值类型：ZSet
-     * 成员：shortUri
-     * 分数：访问量
-     * 用途：维护访问量 Top N 的短链接
+     * 成员：{gid}|{fullShortUrl}
+     * 分数：按时间衰减的访问量
+     * 用途：各节点定期合并本地热点统计（ZINCRBY），定期按比例衰减并裁剪，缓存预热读取 Top N
      */
     public static final String SHORT_LINK_HOT_RANK = "short_link:hot:rank";
+
+    /**
+     * 热点短链接排行榜衰减标记
+     * 用途：多实例部署时每个衰减周期只有一个实例执行衰减（SET NX，有效期为衰减周期）
+     */
+    public static final String SHORT_LINK_HOT_RANK_DECAY_LOCK = "short_link:lock:hot_rank_decay";
     
     /**
      * 短链接访问日志队列
      * 格式：short_link:log:queue
-     * 值类型：List
-     * 用途：异步记录访问日志，由消费者批量写入数据库
+     * 值类型：Stream
+     * 字段：url、gid、ts、ip、ua、ref、uv
+     * 用途：跳转时 XADD 访问事件，由消费者组（ShortLinkStatsSaveConsumer）批量消费写入数据库
      */
     public static final String SHORT_LINK_LOG_QUEUE = "short_link:log:queue";
+
+    /**
+     * 短链接号段计数器
+     * 格式：short_link:segment:short_uri
+     * 值类型：String (计数器)
+     * 用途：各节点 INCRBY 租用号段，值为已分配出去的最大号码（不含），需开启持久化
+     */
+    public static final String SHORT_LINK_SEGMENT_KEY = "short_link:segment:short_uri";
+
+    /**
+     * 站点图标缓存前缀
+     * 格式：short_link:site:favicon:{host}
+     * 值类型：String
+     * 用途：缓存站点图标，获取失败时写入空值标记（短有效期）
+     */
+    public static final String SHORT_LINK_SITE_FAVICON_PREFIX = "short_link:site:favicon:";
+
+    /**
+     * 网站标题缓存前缀
+     * 格式：short_link:site:title:{normalizedUrl}
+     * 值类型：String
+     * 用途：缓存网站标题，获取失败时写入空值标记（短有效期）；后管获取标题时也会先读取该缓存
+     */
+    public static final String SHORT_LINK_SITE_TITLE_PREFIX = "short_link:site:title:";
     
     // ==================== 工具方法 ====================
     
@@ -128,6 +237,15 @@ public class RedisKeyConstant {
         return SHORT_LINK_STATS_PREFIX + shortUri;
     }
     
+    /**
+     * 获取点击量镜像 Key
+     * @param fullShortUrl 完整短链接
+     * @return 点击量 Key
+     */
+    public static String getClickNumKey(String fullShortUrl) {
+        return SHORT_LINK_CLICK_NUM_PREFIX + fullShortUrl;
+    }
+    
     /**
      * 获取 UV 统计 Key
      * @param shortUri 短链接后缀
@@ -139,14 +257,51 @@ public class RedisKeyConstant {
     
     /**
      * 获取每日 UV 统计 Key
-     * @param shortUri 短链接后缀
+     * @param fullShortUrl 完整短链接
      * @param date 日期（格式：yyyyMMdd）
      * @return 每日 UV 统计 Key
      */
-    public static String getDailyUvKey(String shortUri, String date) {
-        return SHORT_LINK_UV_DAILY_PREFIX + shortUri + ":" + date;
+    public static String getDailyUvKey(String fullShortUrl, String date) {
+        return SHORT_LINK_UV_DAILY_PREFIX + fullShortUrl + ":" + date;
+    }
+
+    /**
+     * 获取每日独立 IP 统计 Key
+     * @param fullShortUrl 完整短链接
+     * @param date 日期（格式：yyyyMMdd）
+     * @return 每日独立 IP 统计 Key
+     */
+    public static String getDailyUipKey(String fullShortUrl, String date) {
+        return SHORT_LINK_UIP_DAILY_PREFIX + fullShortUrl + ":" + date;
+    }
+
+    /**
+     * 获取已汇总 UV/UIP 基数 Key
+     * @param date 日期（格式：yyyyMMdd）
+     * @return 已汇总基数 Key
+     */
+    public static String getUvRolledKey(String date) {
+        return SHORT_LINK_UV_ROLLED_PREFIX + date;
     }
     
+    /**
+     * 获取站点图标缓存 Key
+     * @param host 站点域名
+     * @return 站点图标缓存 Key
+     */
+    public static String getSiteFaviconKey(String host) {
+        return SHORT_LINK_SITE_FAVICON_PREFIX + host;
+    }
+
+    /**
+     * 获取网站标题缓存 Key
+     * @param normalizedUrl 标准化后的 URL
+     * @return 网站标题缓存 Key
+     */
+    public static String getSiteTitleKey(String normalizedUrl) {
+        return SHORT_LINK_SITE_TITLE_PREFIX + normalizedUrl;
+    }
+
     /**
      * 获取 IP 限流 Key
      * @param ip IP 地址
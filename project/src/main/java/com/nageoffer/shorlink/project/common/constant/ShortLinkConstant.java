@@ -28,4 +28,34 @@ public class ShortLinkConstant {
      * 系统错误页面路径
      */
     public static final String PAGE_ERROR = "/page/error";
+
+    /**
+     * 访客标识 Cookie 名称，用于 UV 统计
+     */
+    public static final String UV_COOKIE_NAME = "uv";
+
+    /**
+     * 访客标识 Cookie 有效期（秒），30 天
+     */
+    public static final int UV_COOKIE_MAX_AGE = 60 * 60 * 24 * 30;
+
+    /**
+     * 访客标识 Cookie 属性，跳转时直接拼接 Set-Cookie 响应头
+     */
+    public static final String UV_COOKIE_ATTRIBUTES = "; Max-Age=" + UV_COOKIE_MAX_AGE + "; Path=/; HttpOnly";
+
+    /**
+     * 批量创建短链接单次最多条数
+     */
+    public static final int BATCH_CREATE_MAX_SIZE = 10000;
+
+    /**
+     * 批量创建短链接时单条多值 INSERT 最多写入的行数
+     */
+    public static final int BATCH_CREATE_INSERT_CHUNK_SIZE = 500;
+
+    /**
+     * 获取网站标题失败时返回的默认标题
+     */
+    public static final String DEFAULT_TITLE = "未知网站";
 }
@@ -0,0 +1,174 @@
+package com.nageoffer.shorlink.project.common.web;
+
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkRedirectDTO;
+import com.nageoffer.shorlink.project.service.ShortLinkService;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * 功能描述: 短链接跳转快速通道过滤器，排在所有过滤器之前
+ * </p>
+ * 1. 只处理 GET/HEAD 且路径为单段短链接后缀（Base62 字符，不超过 32 位）的请求，其余请求原样交给后续过滤器链
+ * 2. 按预先生成的字符表逐字符匹配，不使用正则，不匹配时不分配对象
+ * 3. 匹配后开启异步请求，解析结果直接写成 302 响应，不经过 Spring Security、用户信息过滤器和 DispatcherServlet
+ * 4. 解析超过 short-link.cache.load.async-timeout-ms、抛出异常或容器异步超时都跳转到错误页，每个请求只写一次响应
+ * 与 ShortLinkController#restoreUrl 使用同一个 ShortLinkService#restoreUrl，关闭快速通道后由控制层处理
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShortLinkRedirectFilter implements Filter {
+
+    /**
+     * 短链接后缀最大长度，号段短链接为 7 位
+     */
+    private static final int MAX_SHORT_URI_LENGTH = 32;
+
+    /**
+     * 与短链接后缀格式相同的系统路径，交给后续过滤器链处理
+     */
+    private static final Set<String> RESERVED_PATHS = Set.of("api", "v3", "page", "error", "actuator");
+
+    /**
+     * 容器异步超时比解析超时多出的时间（毫秒），正常情况下由解析超时先触发
+     */
+    private static final long ASYNC_TIMEOUT_MARGIN_MS = 1000;
+
+    /**
+     * 短链接后缀允许的字符（0-9、A-Z、a-z）
+     */
+    private static final boolean[] SHORT_URI_CHARS = new boolean[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            SHORT_URI_CHARS[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            SHORT_URI_CHARS[c] = true;
+            SHORT_URI_CHARS[c + ('a' - 'A')] = true;
+        }
+    }
+
+    private final ShortLinkService shortLinkService;
+
+    /**
+     * 等待跳转解析的最长时间（毫秒）
+     */
+    private final long timeoutMs;
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        String shortUri = matchShortUri(request);
+        if (shortUri == null) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        AsyncContext asyncContext = request.startAsync();
+        AtomicBoolean responded = new AtomicBoolean(false);
+        asyncContext.setTimeout(timeoutMs + ASYNC_TIMEOUT_MARGIN_MS);
+        asyncContext.addListener(new AsyncListener() {
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                log.warn("短链接跳转异步请求超时：{}", shortUri);
+                sendRedirect(asyncContext, response, ShortLinkRedirectDTO.ERROR, responded);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                log.warn("短链接跳转异步请求异常：{}", shortUri, event.getThrowable());
+                sendRedirect(asyncContext, response, ShortLinkRedirectDTO.ERROR, responded);
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        try {
+            shortLinkService.restoreUrl(shortUri, request)
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .defaultIfEmpty(ShortLinkRedirectDTO.ERROR)
+                    .subscribe(
+                            redirect -> sendRedirect(asyncContext, response, redirect, responded),
+                            e -> {
+                                log.error("短链接跳转失败：{}", shortUri, e);
+                                sendRedirect(asyncContext, response, ShortLinkRedirectDTO.ERROR, responded);
+                            }
+                    );
+        } catch (Exception e) {
+            // restoreUrl 在组装阶段抛出的异常（如读取请求信息失败）不会进入 Mono 的错误回调
+            log.error("短链接跳转失败：{}", shortUri, e);
+            sendRedirect(asyncContext, response, ShortLinkRedirectDTO.ERROR, responded);
+        }
+    }
+
+    /**
+     * 从请求路径中取出短链接后缀
+     * @param request 请求
+     * @return 短链接后缀，不是短链接跳转请求时返回 null
+     */
+    private String matchShortUri(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return null;
+        }
+        String requestUri = request.getRequestURI();
+        int start = request.getContextPath().length() + 1;
+        int length = requestUri.length() - start;
+        if (length <= 0 || length > MAX_SHORT_URI_LENGTH || requestUri.charAt(start - 1) != '/') {
+            return null;
+        }
+        for (int i = start; i < requestUri.length(); i++) {
+            char c = requestUri.charAt(i);
+            if (c >= SHORT_URI_CHARS.length || !SHORT_URI_CHARS[c]) {
+                return null;
+            }
+        }
+        String shortUri = requestUri.substring(start);
+        return RESERVED_PATHS.contains(shortUri) ? null : shortUri;
+    }
+
+    /**
+     * 写入跳转响应并结束异步请求，解析结果、解析超时和容器超时可能并发到达，只有第一次生效
+     */
+    private void sendRedirect(AsyncContext asyncContext, HttpServletResponse response, ShortLinkRedirectDTO redirect, AtomicBoolean responded) {
+        if (!responded.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader("Location", redirect.getLocation());
+            String uvSetCookieHeader = redirect.getUvSetCookieHeader();
+            if (uvSetCookieHeader != null) {
+                response.addHeader("Set-Cookie", uvSetCookieHeader);
+            }
+        } finally {
+            asyncContext.complete();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.nageoffer.shorlink.project.config;
+
+import com.nageoffer.shorlink.project.cache.ShortLinkBloomFilter;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkWarmUpResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 功能描述: 缓存预热就绪检查，加入 readiness 健康组（见 management.endpoint.health.group.readiness）
+ * </p>
+ * 满足以下任一条件前 /actuator/health/readiness 返回 OUT_OF_SERVICE，节点不接收流量：
+ * 1. 启动预热完成且写入比例达到 min-ratio，并且布隆过滤器本地副本加载结束
+ * 2. 自启动起超过 timeout-seconds，预热失败或过慢时不会一直无法就绪
+ * Spring Boot 在 ApplicationRunner 执行完后才发布 ACCEPTING_TRAFFIC，因此通过健康组而不是改写可用状态来拦截流量；
+ * 检查通过时再发布一次 ACCEPTING_TRAFFIC，供监听可用状态的组件感知
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final ShortLinkBloomFilter shortLinkBloomFilter;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * 启动预热写入缓存的数量占计划数量的最低比例
+     */
+    @Value("${short-link.cache.warm-up.readiness.min-ratio:0.9}")
+    private double minRatio;
+
+    /**
+     * 自启动起等待预热的最长时间（秒），超过后无论预热结果都视为就绪
+     */
+    @Value("${short-link.cache.warm-up.readiness.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    private final long startTime = System.nanoTime();
+    private volatile ShortLinkWarmUpResultDTO warmUpResult;
+    private volatile boolean ready;
+
+    /**
+     * 启动预热结束时调用，预热异常时 result 为 null
+     * @param result 预热结果
+     */
+    public void onWarmUpFinished(ShortLinkWarmUpResultDTO result) {
+        warmUpResult = result;
+    }
+
+    @Override
+    public Health health() {
+        if (ready) {
+            return Health.up().build();
+        }
+        ShortLinkWarmUpResultDTO result = warmUpResult;
+        boolean cacheWarm = result != null && (result.getTarget() == 0 || result.getWarmed() >= result.getTarget() * minRatio);
+        boolean bloomFilterLoaded = shortLinkBloomFilter.isLocalLoaded();
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime);
+        if (cacheWarm && bloomFilterLoaded) {
+            markReady("缓存预热完成，节点开始接收流量，耗时：{}s", elapsedSeconds);
+            return Health.up().build();
+        }
+        if (elapsedSeconds >= timeoutSeconds) {
+            markReady("等待缓存预热超时，节点开始接收流量，已等待：{}s", elapsedSeconds);
+            return Health.up().withDetail("timeout", true).build();
+        }
+        return Health.outOfService()
+                .withDetail("cacheWarm", cacheWarm)
+                .withDetail("bloomFilterLoaded", bloomFilterLoaded)
+                .withDetail("warmed", result == null ? 0 : result.getWarmed())
+                .build();
+    }
+
+    private synchronized void markReady(String message, long elapsedSeconds) {
+        if (ready) {
+            return;
+        }
+        ready = true;
+        log.info(message, elapsedSeconds);
+        AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+}
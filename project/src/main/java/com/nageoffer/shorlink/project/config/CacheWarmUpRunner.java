@@ -1,16 +1,19 @@
 package com.nageoffer.shorlink.project.config;
 
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkWarmUpResultDTO;
 import com.nageoffer.shorlink.project.service.ShortLinkCacheWarmUpService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
 /**
  * <p>
- * 功能描述: 应用启动时执行缓存预热
+ * 功能描述: 应用启动时在后台线程执行缓存预热，不阻塞启动
  * </p>
+ * 预热完成前由 CacheWarmUpHealthIndicator 让 readiness 探针返回 OUT_OF_SERVICE，节点不会冷启动接收流量
  *
  * @author Hanxuewei
  * @since 2025/10/11
@@ -21,19 +24,33 @@ import org.springframework.stereotype.Component;
 public class CacheWarmUpRunner implements ApplicationRunner {
     
     private final ShortLinkCacheWarmUpService cacheWarmUpService;
+    private final CacheWarmUpHealthIndicator cacheWarmUpHealthIndicator;
+    
+    /**
+     * 启动时预热的热点短链接数量
+     */
+    @Value("${short-link.cache.warm-up.startup-top-n:100}")
+    private int startupTopN;
     
     @Override
     public void run(ApplicationArguments args) {
+        Thread warmUpThread = new Thread(this::warmUp, "short-link-startup-warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+    
+    private void warmUp() {
         log.info("==================== 应用启动，开始缓存预热 ====================");
         
+        ShortLinkWarmUpResultDTO result = null;
         try {
-            // 预热 Top 100 热点短链接
-            cacheWarmUpService.warmUpHotLinks(100);
+            result = cacheWarmUpService.warmUpHotLinks(startupTopN);
             
             log.info("==================== 缓存预热完成 ====================");
         } catch (Exception e) {
-            log.error("缓存预热失败，但不影响应用启动", e);
+            log.error("缓存预热失败，等待就绪超时后接收流量", e);
+        } finally {
+            cacheWarmUpHealthIndicator.onWarmUpFinished(result);
         }
     }
 }
-
@@ -0,0 +1,39 @@
+package com.nageoffer.shorlink.project.config;
+
+import com.nageoffer.shorlink.project.common.web.ShortLinkRedirectFilter;
+import com.nageoffer.shorlink.project.service.ShortLinkService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * <p>
+ * 功能描述: 短链接跳转快速通道配置，short-link.redirect.fast-path.enabled=false 时关闭，跳转改由控制层处理
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "short-link.redirect.fast-path", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ShortLinkRedirectConfiguration {
+
+    /**
+     * 短链接跳转快速通道过滤器，排在 Spring Security 等所有过滤器之前
+     * @param timeoutMs 等待跳转解析的最长时间（毫秒），与回源超时一致
+     */
+    @Bean
+    public FilterRegistrationBean<ShortLinkRedirectFilter> shortLinkRedirectFilter(
+            ShortLinkService shortLinkService,
+            @Value("${short-link.cache.load.async-timeout-ms:3000}") long timeoutMs) {
+        FilterRegistrationBean<ShortLinkRedirectFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new ShortLinkRedirectFilter(shortLinkService, timeoutMs));
+        registration.addUrlPatterns("/*");
+        registration.setAsyncSupported(true);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
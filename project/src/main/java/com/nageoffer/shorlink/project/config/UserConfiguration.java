@@ -12,13 +12,13 @@ import org.springframework.context.annotation.Configuration;
 public class UserConfiguration {
 
     /**
-     * 用户信息传递过滤器
+     * 用户信息传递过滤器，只有接口请求需要用户信息，短链接跳转等其他请求不经过
      */
     @Bean
     public FilterRegistrationBean<UserTransmitFilter> globalUserTransmitFilter() {
         FilterRegistrationBean<UserTransmitFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(new UserTransmitFilter());
-        registration.addUrlPatterns("/*");
+        registration.addUrlPatterns("/api/*");
         registration.setOrder(0);
         return registration;
     }
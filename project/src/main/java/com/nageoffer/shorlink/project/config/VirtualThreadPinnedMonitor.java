@@ -0,0 +1,75 @@
+package com.nageoffer.shorlink.project.config;
+
+import com.nageoffer.shorlink.project.toolkit.VirtualThreadUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 功能描述: 虚拟线程固定（pinning）诊断，通过 JFR 事件 jdk.VirtualThreadPinned 记录虚拟线程在
+ * synchronized 块或本地方法中阻塞、占住载体线程的位置
+ * </p>
+ * 只在虚拟线程模式下开启，阻塞时间超过 pinned-threshold-ms 时输出事件的栈顶几帧。
+ * 项目中的 synchronized 块（布隆过滤器位图、热点统计、抓取并发限制）只做内存操作，
+ * 这里出现的记录通常来自第三方客户端，应改为 ReentrantLock 或移出同步块
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "short-link.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadPinnedMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_FRAMES = 8;
+
+    /**
+     * 记录固定事件的阻塞时间阈值（毫秒）
+     */
+    @Value("${short-link.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    public void start() {
+        if (!VirtualThreadUtil.isSupported()) {
+            return;
+        }
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, event -> {
+            String frames = event.getStackTrace() == null ? "" : formatFrames(event.getStackTrace().getFrames());
+            log.warn("虚拟线程被固定 {}ms，线程：{}，栈：{}", event.getDuration().toMillis(),
+                    event.getThread() == null ? "" : event.getThread().getJavaName(), frames);
+        });
+        recordingStream.startAsync();
+        log.info("虚拟线程固定诊断已开启，阈值：{}ms", pinnedThresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private String formatFrames(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(MAX_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+}
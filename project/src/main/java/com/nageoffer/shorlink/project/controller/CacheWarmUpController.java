@@ -0,0 +1,38 @@
+package com.nageoffer.shorlink.project.controller;
+
+import com.nageoffer.shorlink.project.common.convention.result.Result;
+import com.nageoffer.shorlink.project.common.convention.result.Results;
+import com.nageoffer.shorlink.project.dto.req.ShortLinkCacheWarmUpReqDTO;
+import com.nageoffer.shorlink.project.service.ShortLinkCacheWarmUpService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * <p>
+ * 功能描述: 短链接缓存预热控制层
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Tag(name = "缓存预热", description = "短链接缓存预热相关接口")
+@RestController
+@RequiredArgsConstructor
+public class CacheWarmUpController {
+
+    private final ShortLinkCacheWarmUpService shortLinkCacheWarmUpService;
+
+    /**
+     * 按分组、域名或热点排行榜预热短链接缓存，后台异步执行，进度见 shortlink.cache.warmup.* 指标
+     */
+    @Operation(summary = "预热短链接缓存", description = "按分组、域名或热点排行榜异步预热短链接缓存")
+    @PostMapping("/api/short-link/v1/cache/warm-up")
+    public Result<Void> warmUp(@RequestBody ShortLinkCacheWarmUpReqDTO requestParam) {
+        shortLinkCacheWarmUpService.submitWarmUp(requestParam);
+        return Results.success();
+    }
+}
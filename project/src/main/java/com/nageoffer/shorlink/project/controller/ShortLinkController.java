@@ -3,10 +3,12 @@ package com.nageoffer.shorlink.project.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.nageoffer.shorlink.project.common.convention.result.Result;
 import com.nageoffer.shorlink.project.common.convention.result.Results;
+import com.nageoffer.shorlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkCreateReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkGroupCountReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkPageReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkUpdateReqDTO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkCreateRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkGroupCountRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkPageRespDTO;
@@ -14,14 +16,14 @@ import com.nageoffer.shorlink.project.service.ShortLinkService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
 import java.util.List;
 
 /**
@@ -39,25 +41,29 @@ public class ShortLinkController {
     private final ShortLinkService shortLinkService;
 
     /**
-     * 短链接跳转
+     * 短链接跳转，以异步请求处理，等待 Redis 和数据库期间不占用 Tomcat 线程。
+     * 默认由 ShortLinkRedirectFilter 在过滤器链之前处理，关闭快速通道后才会进入这里
      * @param shortUri 短链接后缀
      * @param request Http 请求
-     * @param response Http 响应
      */
     @Operation(summary = "短链接跳转", description = "根据短链接后缀跳转到原始URL")
     @GetMapping("/{short-uri}")
-    public void restoreUrl(
+    public Mono<ResponseEntity<Void>> restoreUrl(
             @Parameter(description = "短链接后缀", required = true, example = "abc123")
-            @PathVariable("short-uri") String shortUri, 
-            ServletRequest request, 
-            ServletResponse response) throws IOException {
+            @PathVariable("short-uri") String shortUri,
+            HttpServletRequest request) {
         // 排除swagger等系统路径，避免被短链接拦截
-        if (shortUri.startsWith("swagger") || shortUri.startsWith("v3") || 
+        if (shortUri.startsWith("swagger") || shortUri.startsWith("v3") ||
             shortUri.startsWith("api") || shortUri.equals("favicon.ico")) {
-            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_NOT_FOUND);
-            return;
+            return Mono.just(ResponseEntity.notFound().build());
         }
-        shortLinkService.restoreUrl(shortUri, (HttpServletRequest) request, (HttpServletResponse) response);
+        return shortLinkService.restoreUrl(shortUri, request).map(redirect -> {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.FOUND).header(HttpHeaders.LOCATION, redirect.getLocation());
+            if (redirect.getUvSetCookieHeader() != null) {
+                builder.header(HttpHeaders.SET_COOKIE, redirect.getUvSetCookieHeader());
+            }
+            return builder.<Void>build();
+        });
     }
     /**
      * 创建短链接
@@ -68,6 +74,15 @@ public class ShortLinkController {
         return Results.success(shortLinkService.createShortLink(requestParam));
     }
 
+    /**
+     * 批量创建短链接
+     */
+    @Operation(summary = "批量创建短链接", description = "批量创建短链接，逐条返回创建结果")
+    @PostMapping("/api/short-link/v1/create/batch")
+    public Result<ShortLinkBatchCreateRespDTO> batchCreateShortLink(@RequestBody ShortLinkBatchCreateReqDTO requestParam){
+        return Results.success(shortLinkService.batchCreateShortLink(requestParam));
+    }
+
     /**
      * 修改短链接
      */
@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * <p>
  * 功能描述: URL标题控制层
@@ -32,9 +34,10 @@ public class UrlTitleController {
      */
     @Operation(summary = "获取网站标题", description = "根据URL获取对应网站的标题信息")
     @GetMapping("/api/short-link/v1/title")
-    public Result<String> getTitleByUrl(
+    public CompletableFuture<Result<String>> getTitleByUrl(
             @Parameter(description = "网站URL地址", required = true, example = "https://www.baidu.com")
             @RequestParam("url") String url) {
-        return Results.success(getTitleService.getTitleByUrl(url));
+        // 异步返回，等待网站响应期间释放 Tomcat 线程
+        return getTitleService.getTitleByUrlAsync(url).thenApply(Results::success);
     }
 }
@@ -5,6 +5,8 @@ import com.nageoffer.shorlink.project.dao.entity.LinkAccessStatsDO;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 /**
  * <p>
  * 功能描述: 短链接基础访问监控的持久层
@@ -24,4 +26,19 @@ public interface LinkAccessStatsMapper extends BaseMapper<LinkAccessStatsDO> {
             "uv = uv + #{linkAccessStats.uv}, " +
             " uip = uip + #{linkAccessStats.uip};")
     void shortLinkStats(@Param("linkAccessStats") LinkAccessStatsDO linkAccessStatsDO);
+
+    /**
+     * 批量记录基础访问监控数据
+     * 一条多行 INSERT ... ON DUPLICATE KEY UPDATE，累加缓冲区内已合并的 pv、uv、uip 增量
+     */
+    @Insert("<script>" +
+            "INSERT INTO t_link_access_stats (full_short_url, gid, date, pv, uv, uip, hour, weekday, create_time, update_time, del_flag) VALUES " +
+            "<foreach collection='linkAccessStatsList' item='item' separator=','>" +
+            "(#{item.fullShortUrl}, #{item.gid}, #{item.date}, #{item.pv}, #{item.uv}, #{item.uip}, #{item.hour}, #{item.weekday}, NOW(), NOW(), 0)" +
+            "</foreach>" +
+            " ON DUPLICATE KEY UPDATE pv = IFNULL(pv, 0) + VALUES(pv), " +
+            "uv = IFNULL(uv, 0) + VALUES(uv), " +
+            "uip = IFNULL(uip, 0) + VALUES(uip)" +
+            "</script>")
+    void shortLinkStatsBatch(@Param("linkAccessStatsList") List<LinkAccessStatsDO> linkAccessStatsList);
 }
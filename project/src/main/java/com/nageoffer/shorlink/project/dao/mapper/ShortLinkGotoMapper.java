@@ -2,6 +2,10 @@ package com.nageoffer.shorlink.project.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkGotoDO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * <p>
@@ -13,4 +17,16 @@ import com.nageoffer.shorlink.project.dao.entity.ShortLinkGotoDO;
  */
 public interface ShortLinkGotoMapper extends BaseMapper<ShortLinkGotoDO> {
 
+    /**
+     * 批量插入短链接路由
+     * 按 full_short_url 分表，ShardingSphere 会把多值 INSERT 按分片拆分到各张分表
+     * @param linkGotoList 路由列表，调用方需自行填充 id
+     */
+    @Insert("<script>" +
+            "INSERT INTO t_link_goto (id, full_short_url, gid) VALUES " +
+            "<foreach collection='linkGotoList' item='item' separator=','>" +
+            "(#{item.id}, #{item.fullShortUrl}, #{item.gid})" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("linkGotoList") List<ShortLinkGotoDO> linkGotoList);
 }
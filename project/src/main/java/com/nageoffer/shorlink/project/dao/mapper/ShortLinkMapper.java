@@ -2,6 +2,8 @@ package com.nageoffer.shorlink.project.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkGroupCountRespDTO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
@@ -19,21 +21,72 @@ import java.util.List;
 public interface ShortLinkMapper extends BaseMapper<ShortLinkDO> {
 
     /**
-     * 增加短链接点击次数
+     * 批量插入短链接
+     * 调用方需保证同一批次 gid 相同（只路由到一张分表），并自行填充 id、createTime、updateTime、delFlag
+     * @param shortLinkList 短链接列表
+     */
+    @Insert("<script>" +
+            "INSERT INTO t_link (id, domain, short_uri, full_short_url, origin_url, click_num, gid, favicon, enable_status, " +
+            "created_type, valid_date_type, valid_date, `describe`, create_time, update_time, del_flag) VALUES " +
+            "<foreach collection='shortLinkList' item='item' separator=','>" +
+            "(#{item.id}, #{item.domain}, #{item.shortUri}, #{item.fullShortUrl}, #{item.originUrl}, #{item.clickNum}, #{item.gid}, " +
+            "#{item.favicon}, #{item.enableStatus}, #{item.createdType}, #{item.validDateType}, #{item.validDate}, #{item.describe}, " +
+            "#{item.createTime}, #{item.updateTime}, #{item.delFlag})" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("shortLinkList") List<ShortLinkDO> shortLinkList);
+
+    /**
+     * 批量累加同一分组下短链接的点击次数
+     * 同一 gid 只路由到一张分表，一条 UPDATE 写入多条短链接的点击增量
+     * @param gid 分组标识（用于分片路由）
+     * @param clickList 点击增量列表，每项只使用 fullShortUrl 和 clickNum
+     */
+    @Update("<script>" +
+            "UPDATE t_link SET click_num = click_num + CASE full_short_url " +
+            "<foreach collection='clickList' item='item'>WHEN #{item.fullShortUrl} THEN #{item.clickNum} </foreach>" +
+            "ELSE 0 END " +
+            "WHERE gid = #{gid} AND del_flag = 0 AND full_short_url IN " +
+            "<foreach collection='clickList' item='item' open='(' separator=',' close=')'>#{item.fullShortUrl}</foreach>" +
+            "</script>")
+    void incrementClickNumBatch(@Param("gid") String gid, @Param("clickList") List<ShortLinkDO> clickList);
+
+    /**
+     * 批量回填同一分组下短链接的网站图标
+     * @param gid 分组标识（用于分片路由）
+     * @param favicon 网站图标
+     * @param fullShortUrls 完整短链接列表
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE t_link SET favicon = #{favicon} " +
+            "WHERE gid = #{gid} AND del_flag = 0 AND full_short_url IN " +
+            "<foreach collection='fullShortUrls' item='item' open='(' separator=',' close=')'>#{item}</foreach>" +
+            "</script>")
+    int updateFaviconBatch(@Param("gid") String gid, @Param("favicon") String favicon, @Param("fullShortUrls") List<String> fullShortUrls);
+
+    /**
+     * 描述为空时回填网站标题，不覆盖用户已填写或已修改的描述
      * @param gid 分组标识（用于分片路由）
      * @param fullShortUrl 完整短链接
+     * @param describe 网站标题
+     * @return 更新行数
      */
-    @Update("UPDATE t_link SET click_num = click_num + 1 " +
-            "WHERE gid = #{gid} AND full_short_url = #{fullShortUrl} AND del_flag = 0")
-    void incrementClickNum(@Param("gid") String gid, @Param("fullShortUrl") String fullShortUrl);
+    @Update("UPDATE t_link SET `describe` = #{describe} " +
+            "WHERE gid = #{gid} AND full_short_url = #{fullShortUrl} AND del_flag = 0 " +
+            "AND (`describe` IS NULL OR `describe` = '')")
+    int updateDescribeIfBlank(@Param("gid") String gid, @Param("fullShortUrl") String fullShortUrl, @Param("describe") String describe);
 
     /**
-     * 查询热点短链接（按访问量排序）
-     * @param limit 查询数量
-     * @return 热点短链接列表
+     * 按分组统计已启用且未删除的短链接数量，没有短链接的分组不返回
+     * @param gidList 分组标识列表
+     * @return 分组数量列表
      */
-    @Select("SELECT * FROM t_link " +
-            "WHERE enable_status = 1 AND del_flag = 0 AND valid_date > NOW() " +
-            "ORDER BY click_num DESC LIMIT #{limit}")
-    List<ShortLinkDO> selectHotLinks(@Param("limit") int limit);
+    @Select("<script>" +
+            "SELECT gid, COUNT(*) AS shortLinkCount FROM t_link " +
+            "WHERE enable_status = 1 AND del_flag = 0 AND gid IN " +
+            "<foreach collection='gidList' item='item' open='(' separator=',' close=')'>#{item}</foreach>" +
+            " GROUP BY gid" +
+            "</script>")
+    List<ShortLinkGroupCountRespDTO> countGroupByGid(@Param("gidList") List<String> gidList);
 }
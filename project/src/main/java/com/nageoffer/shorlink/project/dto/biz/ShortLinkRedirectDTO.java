@@ -0,0 +1,43 @@
+package com.nageoffer.shorlink.project.dto.biz;
+
+import com.nageoffer.shorlink.project.common.constant.ShortLinkConstant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>
+ * 功能描述: 短链接跳转结果，由控制层或跳转快速通道过滤器写成 302 响应
+ * </p>
+ * 不存在、已过期、系统错误三种结果为共享的常量，跳转失败时不再创建对象
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public class ShortLinkRedirectDTO {
+
+    public static final ShortLinkRedirectDTO NOT_FOUND = new ShortLinkRedirectDTO(ShortLinkConstant.PAGE_NOT_FOUND, null);
+
+    public static final ShortLinkRedirectDTO EXPIRED = new ShortLinkRedirectDTO(ShortLinkConstant.PAGE_EXPIRED, null);
+
+    public static final ShortLinkRedirectDTO ERROR = new ShortLinkRedirectDTO(ShortLinkConstant.PAGE_ERROR, null);
+
+    /**
+     * 跳转地址
+     */
+    private final String location;
+
+    /**
+     * 首次访问时新生成的访客标识，需要随响应写入 Cookie；已有访客标识时为 null
+     */
+    private final String newUv;
+
+    /**
+     * 访客标识 Set-Cookie 响应头
+     * @return 响应头的值，无需写入时为 null
+     */
+    public String getUvSetCookieHeader() {
+        return newUv == null ? null : ShortLinkConstant.UV_COOKIE_NAME + "=" + newUv + ShortLinkConstant.UV_COOKIE_ATTRIBUTES;
+    }
+}
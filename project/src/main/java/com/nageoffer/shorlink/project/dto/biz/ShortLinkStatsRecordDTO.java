@@ -0,0 +1,114 @@
+package com.nageoffer.shorlink.project.dto.biz;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * 功能描述: 短链接访问事件，跳转时写入 Redis Stream，由消费者异步统计
+ * </p>
+ * 字段名保持简短，减少每条 Stream 消息占用的内存
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkStatsRecordDTO {
+
+    private static final String FIELD_FULL_SHORT_URL = "url";
+    private static final String FIELD_GID = "gid";
+    private static final String FIELD_ACCESS_TIME = "ts";
+    private static final String FIELD_REMOTE_ADDR = "ip";
+    private static final String FIELD_USER_AGENT = "ua";
+    private static final String FIELD_REFERER = "ref";
+    private static final String FIELD_UV = "uv";
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 分组标识
+     */
+    private String gid;
+
+    /**
+     * 访问时间（毫秒时间戳）
+     */
+    private Long accessTime;
+
+    /**
+     * 访问者 IP
+     */
+    private String remoteAddr;
+
+    /**
+     * 访问者 User-Agent
+     */
+    private String userAgent;
+
+    /**
+     * 来源页面
+     */
+    private String referer;
+
+    /**
+     * 访客标识 Cookie
+     */
+    private String uv;
+
+    /**
+     * 转换为 Stream 消息字段，空值字段不写入
+     * @return 消息字段
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> fields = new HashMap<>(16);
+        fields.put(FIELD_FULL_SHORT_URL, fullShortUrl);
+        fields.put(FIELD_GID, gid);
+        fields.put(FIELD_ACCESS_TIME, String.valueOf(accessTime));
+        putIfNotEmpty(fields, FIELD_REMOTE_ADDR, remoteAddr);
+        putIfNotEmpty(fields, FIELD_USER_AGENT, userAgent);
+        putIfNotEmpty(fields, FIELD_REFERER, referer);
+        putIfNotEmpty(fields, FIELD_UV, uv);
+        return fields;
+    }
+
+    /**
+     * 从 Stream 消息字段还原访问事件
+     * @param fields 消息字段
+     * @return 访问事件
+     */
+    public static ShortLinkStatsRecordDTO fromMap(Map<?, ?> fields) {
+        Object accessTime = fields.get(FIELD_ACCESS_TIME);
+        return ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl(getString(fields, FIELD_FULL_SHORT_URL))
+                .gid(getString(fields, FIELD_GID))
+                .accessTime(accessTime == null ? System.currentTimeMillis() : Long.parseLong(accessTime.toString()))
+                .remoteAddr(getString(fields, FIELD_REMOTE_ADDR))
+                .userAgent(getString(fields, FIELD_USER_AGENT))
+                .referer(getString(fields, FIELD_REFERER))
+                .uv(getString(fields, FIELD_UV))
+                .build();
+    }
+
+    private static void putIfNotEmpty(Map<String, String> fields, String field, String value) {
+        if (StrUtil.isNotEmpty(value)) {
+            fields.put(field, value);
+        }
+    }
+
+    private static String getString(Map<?, ?> fields, String field) {
+        Object value = fields.get(field);
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.nageoffer.shorlink.project.dto.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>
+ * 功能描述: 热点短链接缓存预热结果
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkWarmUpResultDTO {
+
+    /**
+     * 计划预热的数量，为 topN 与排行榜大小中的较小值
+     */
+    private long target;
+
+    /**
+     * 实际写入缓存的数量
+     */
+    private long warmed;
+}
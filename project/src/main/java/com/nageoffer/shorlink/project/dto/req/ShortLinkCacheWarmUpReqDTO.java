@@ -0,0 +1,32 @@
+package com.nageoffer.shorlink.project.dto.req;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * <p>
+ * 功能描述: 短链接缓存预热请求对象，三种范围可同时指定，均为空时不预热
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Data
+public class ShortLinkCacheWarmUpReqDTO {
+
+    /**
+     * 预热这些分组下的全部短链接
+     */
+    private List<String> gidList;
+
+    /**
+     * 预热该域名下的全部短链接
+     */
+    private String domain;
+
+    /**
+     * 预热热点排行榜前 N 个短链接
+     */
+    private Integer topN;
+}
@@ -19,4 +19,9 @@ public class ShortLinkPageReqDTO extends Page<ShortLinkDO> {
      * 分组标识
      */
     private String gid;
+
+    /**
+     * 分页游标，取上一页返回的 nextCursor；传入时按游标定位，忽略 current 且不查询总数
+     */
+    private String cursor;
 }
@@ -0,0 +1,38 @@
+package com.nageoffer.shorlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * <p>
+ * 功能描述: 短链接批量创建响应对象
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkBatchCreateRespDTO {
+
+    /**
+     * 成功数量
+     */
+    private Integer successCount;
+
+    /**
+     * 失败数量
+     */
+    private Integer failureCount;
+
+    /**
+     * 逐条创建结果，顺序与请求列表一致
+     */
+    private List<ShortLinkBatchCreateItemRespDTO> results;
+}
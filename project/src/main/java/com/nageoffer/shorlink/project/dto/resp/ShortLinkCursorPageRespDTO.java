@@ -0,0 +1,46 @@
+package com.nageoffer.shorlink.project.dto.resp;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.toolkit.PageCursorUtil;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 功能描述: 短链接分页响应对象，在分页结果基础上返回下一页游标
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Getter
+@Setter
+public class ShortLinkCursorPageRespDTO<T> extends Page<T> {
+
+    /**
+     * 下一页游标，请求下一页时原样传回；为 null 表示没有下一页
+     */
+    private String nextCursor;
+
+    public ShortLinkCursorPageRespDTO(long current, long size, long total, boolean searchCount) {
+        super(current, size, total, searchCount);
+    }
+
+    /**
+     * 转换分页结果并生成下一页游标
+     * @param page 短链接分页结果
+     * @param converter 记录转换方法
+     * @return 分页响应
+     */
+    public static <R> ShortLinkCursorPageRespDTO<R> of(IPage<ShortLinkDO> page, Function<ShortLinkDO, R> converter) {
+        ShortLinkCursorPageRespDTO<R> result = new ShortLinkCursorPageRespDTO<>(page.getCurrent(), page.getSize(), page.getTotal(), page.searchCount());
+        result.setRecords(page.getRecords().stream().map(converter).collect(Collectors.toList()));
+        result.setNextCursor(PageCursorUtil.nextCursor(page.getRecords(), page.getSize()));
+        return result;
+    }
+}
@@ -0,0 +1,311 @@
+package com.nageoffer.shorlink.project.enrich;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.nageoffer.shorlink.project.cache.ShortLinkCacheManager;
+import com.nageoffer.shorlink.project.cache.SiteMetadataCache;
+import com.nageoffer.shorlink.project.common.constant.ShortLinkConstant;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.dao.mapper.ShortLinkMapper;
+import com.nageoffer.shorlink.project.fetch.SiteMetadataFetcher;
+import com.nageoffer.shorlink.project.service.GetTitleService;
+import com.nageoffer.shorlink.project.toolkit.VirtualThreadUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * 功能描述: 短链接元数据异步补全，创建短链接时只写入占位图标，真实图标和网站标题由后台线程获取后回填
+ * </p>
+ * 1. 按站点（host）合并任务：同一站点同时只有一个任务在执行，执行期间新提交的短链接并入该任务，
+ *    一次批量创建 1 万条同站点短链接只获取一次图标
+ * 2. 描述为空的短链接按原始链接去重后获取标题，同一站点最多 per-host-concurrency 个线程并发请求
+ * 3. 回填数据库后重新查询并刷新缓存；线程池和队列都有上限，队列满时放弃补全，保留占位图标
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkMetadataEnricher {
+
+    /**
+     * t_link.describe 字段长度
+     */
+    private static final int DESCRIBE_MAX_LENGTH = 1024;
+
+    private final ShortLinkMapper shortLinkMapper;
+    private final ShortLinkCacheManager shortLinkCacheManager;
+    private final GetTitleService getTitleService;
+    private final SiteMetadataCache siteMetadataCache;
+    private final SiteMetadataFetcher siteMetadataFetcher;
+
+    /**
+     * 补全线程数
+     */
+    @Value("${short-link.enrich.pool-size:4}")
+    private int poolSize;
+
+    /**
+     * 等待执行的站点任务上限
+     */
+    @Value("${short-link.enrich.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * 是否使用虚拟线程执行元数据补全任务（JDK 21 及以上生效）
+     */
+    @Value("${short-link.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * 同一站点获取标题的最大并发数
+     */
+    @Value("${short-link.enrich.per-host-concurrency:2}")
+    private int perHostConcurrency;
+
+    /**
+     * 回填和刷新缓存时单条 SQL 最多处理的短链接数量
+     */
+    @Value("${short-link.enrich.update-batch-size:500}")
+    private int updateBatchSize;
+
+    /**
+     * 进行中的站点任务，新提交的短链接在 compute 中并入，任务开始回填前从表中移除
+     */
+    private final ConcurrentHashMap<String, HostTask> inflightHosts = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                VirtualThreadUtil.newThreadFactory("short-link-enrich", virtualThreadsEnabled)
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交单条短链接的元数据补全任务
+     * @param shortLinkDO 已入库的短链接
+     */
+    public void enqueue(ShortLinkDO shortLinkDO) {
+        enqueueAll(Collections.singletonList(shortLinkDO));
+    }
+
+    /**
+     * 批量提交短链接的元数据补全任务，按站点合并
+     * @param shortLinkList 已入库的短链接列表
+     */
+    public void enqueueAll(List<ShortLinkDO> shortLinkList) {
+        Map<String, List<Target>> hostTargets = new LinkedHashMap<>();
+        for (ShortLinkDO each : shortLinkList) {
+            String host = extractHost(each.getOriginUrl());
+            if (host == null) {
+                continue;
+            }
+            hostTargets.computeIfAbsent(host, key -> new ArrayList<>())
+                    .add(new Target(each.getGid(), each.getFullShortUrl(), each.getOriginUrl(), StrUtil.isBlank(each.getDescribe())));
+        }
+        hostTargets.forEach(this::submit);
+    }
+
+    private void submit(String host, List<Target> targets) {
+        HostTask[] created = new HostTask[1];
+        inflightHosts.compute(host, (key, task) -> {
+            if (task == null) {
+                task = new HostTask(host, targets.get(0).originUrl);
+                created[0] = task;
+            }
+            task.targets.addAll(targets);
+            return task;
+        });
+        if (created[0] == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(created[0]));
+        } catch (RejectedExecutionException e) {
+            inflightHosts.remove(host, created[0]);
+            log.warn("元数据补全队列已满，保留占位图标：{}", host);
+        }
+    }
+
+    private void process(HostTask task) {
+        String favicon;
+        try {
+            // 同一站点的图标经 SiteMetadataCache 缓存，获取失败时返回 null 并短期缓存
+            favicon = siteMetadataCache.getFavicon(task.host, () -> siteMetadataFetcher.fetchFavicon(task.sampleUrl)).join();
+        } finally {
+            // 移除后不会再有短链接并入，此后 targets 只由当前线程读取
+            inflightHosts.remove(task.host, task);
+        }
+
+        List<Target> faviconOnlyTargets = new ArrayList<>();
+        Map<String, List<Target>> titleTargets = new LinkedHashMap<>();
+        for (Target target : task.targets) {
+            if (target.needTitle) {
+                titleTargets.computeIfAbsent(target.originUrl, key -> new ArrayList<>()).add(target);
+            } else {
+                faviconOnlyTargets.add(target);
+            }
+        }
+
+        // 获取失败时保留占位图标
+        if (favicon != null) {
+            try {
+                forEachGidChunk(task.targets, (gid, chunk) -> shortLinkMapper.updateFaviconBatch(gid, favicon,
+                        chunk.stream().map(each -> each.fullShortUrl).collect(Collectors.toList())));
+            } catch (Exception e) {
+                log.error("回填网站图标失败：{}，{} 条", task.host, task.targets.size(), e);
+            }
+            refreshCache(faviconOnlyTargets);
+        }
+
+        if (titleTargets.isEmpty()) {
+            return;
+        }
+        // 多个线程共同消费同一站点的待获取标题队列，并发数不超过 per-host-concurrency
+        Queue<String> pendingUrls = new ConcurrentLinkedQueue<>(titleTargets.keySet());
+        int lanes = Math.min(perHostConcurrency, pendingUrls.size());
+        for (int i = 1; i < lanes; i++) {
+            try {
+                executor.execute(() -> fetchTitles(pendingUrls, titleTargets));
+            } catch (RejectedExecutionException e) {
+                // 线程池繁忙时由当前线程独自消费
+                break;
+            }
+        }
+        fetchTitles(pendingUrls, titleTargets);
+    }
+
+    private void fetchTitles(Queue<String> pendingUrls, Map<String, List<Target>> titleTargets) {
+        String originUrl;
+        while ((originUrl = pendingUrls.poll()) != null) {
+            List<Target> targets = titleTargets.get(originUrl);
+            try {
+                String title = getTitleService.getTitleByUrl(originUrl);
+                // 获取失败时返回默认标题，不写入描述
+                if (StrUtil.isNotBlank(title) && !ShortLinkConstant.DEFAULT_TITLE.equals(title)) {
+                    String describe = StrUtil.sub(title, 0, DESCRIBE_MAX_LENGTH);
+                    for (Target target : targets) {
+                        shortLinkMapper.updateDescribeIfBlank(target.gid, target.fullShortUrl, describe);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("回填网站标题失败：{}", originUrl, e);
+            }
+            refreshCache(targets);
+        }
+    }
+
+    /**
+     * 从数据库重新查询已回填的短链接并刷新缓存，避免覆盖期间用户的修改
+     */
+    private void refreshCache(List<Target> targets) {
+        try {
+            forEachGidChunk(targets, (gid, chunk) -> {
+                LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                        .eq(ShortLinkDO::getGid, gid)
+                        .in(ShortLinkDO::getFullShortUrl, chunk.stream().map(each -> each.fullShortUrl).collect(Collectors.toList()))
+                        .eq(ShortLinkDO::getEnableStatus, 1)
+                        .eq(ShortLinkDO::getDelFlag, 0);
+                shortLinkCacheManager.refreshAll(shortLinkMapper.selectList(queryWrapper));
+            });
+        } catch (Exception e) {
+            log.error("刷新补全后的短链接缓存失败，{} 条", targets.size(), e);
+        }
+    }
+
+    /**
+     * 按 gid 分组（同一分表），每组再按 update-batch-size 分块执行
+     */
+    private void forEachGidChunk(List<Target> targets, GidChunkConsumer consumer) {
+        Map<String, List<Target>> gidTargets = targets.stream()
+                .collect(Collectors.groupingBy(each -> each.gid, LinkedHashMap::new, Collectors.toList()));
+        gidTargets.forEach((gid, gidList) -> {
+            for (int from = 0; from < gidList.size(); from += updateBatchSize) {
+                consumer.accept(gid, gidList.subList(from, Math.min(from + updateBatchSize, gidList.size())));
+            }
+        });
+    }
+
+    private static String extractHost(String originUrl) {
+        try {
+            String host = new URL(originUrl).getHost();
+            return StrUtil.isBlank(host) ? null : host.toLowerCase();
+        } catch (Exception e) {
+            log.debug("解析原始链接站点失败：{}", originUrl);
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface GidChunkConsumer {
+
+        void accept(String gid, List<Target> chunk);
+    }
+
+    /**
+     * 同一站点的补全任务，targets 只在 inflightHosts.compute 中追加
+     */
+    private static class HostTask {
+
+        private final String host;
+        private final String sampleUrl;
+        private final List<Target> targets = new ArrayList<>();
+
+        private HostTask(String host, String sampleUrl) {
+            this.host = host;
+            this.sampleUrl = sampleUrl;
+        }
+    }
+
+    /**
+     * 待补全的短链接
+     */
+    private static class Target {
+
+        private final String gid;
+        private final String fullShortUrl;
+        private final String originUrl;
+        private final boolean needTitle;
+
+        private Target(String gid, String fullShortUrl, String originUrl, boolean needTitle) {
+            this.gid = gid;
+            this.fullShortUrl = fullShortUrl;
+            this.originUrl = originUrl;
+            this.needTitle = needTitle;
+        }
+    }
+}
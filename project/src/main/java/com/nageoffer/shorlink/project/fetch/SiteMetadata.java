@@ -0,0 +1,44 @@
+package com.nageoffer.shorlink.project.fetch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>
+ * 功能描述: 从网站 head 中解析出的元数据
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public class SiteMetadata {
+
+    /**
+     * 获取失败（超时、连接失败、解析失败）
+     */
+    public static final SiteMetadata FAILED = new SiteMetadata(0, null, null);
+
+    /**
+     * HTTP 状态码，请求失败时为 0
+     */
+    private final int statusCode;
+
+    /**
+     * 网站标题，未声明时为 null
+     */
+    private final String title;
+
+    /**
+     * head 中声明的图标绝对地址，未声明时为 null
+     */
+    private final String faviconUrl;
+
+    /**
+     * 请求是否成功（2xx/3xx）
+     */
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 400;
+    }
+}
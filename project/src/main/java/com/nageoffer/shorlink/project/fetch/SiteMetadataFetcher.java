@@ -0,0 +1,385 @@
+package com.nageoffer.shorlink.project.fetch;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * 功能描述: 网站元数据异步获取引擎，供获取网站标题和图标使用
+ * </p>
+ * 1. 基于 java.net.http.HttpClient：连接池复用、优先 HTTP/2，请求全程异步，不占用调用线程
+ * 2. 只读取响应的 head 部分：读到 &lt;/head&gt;、&lt;body 或标题与图标 link 都已出现时立即取消响应体，
+ *    最多读取 max-head-bytes 字节；4xx/5xx 不读取响应体
+ * 3. 全局与单站点并发上限：超过上限的请求在队列中等待，队列满时直接拒绝（RejectedExecutionException），
+ *    突发的大量标题请求不会耗尽 Tomcat 线程
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class SiteMetadataFetcher {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+
+    /**
+     * 已读取内容中是否出现图标 link 标签（内容已转为小写）
+     */
+    private static final Pattern ICON_LINK_PATTERN = Pattern.compile("<link[^>]+rel\\s*=\\s*[\"']?[^\"'>]*icon");
+
+    /**
+     * Content-Type 中的字符集
+     */
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("charset=([\\w-]+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 连接超时时间（毫秒）
+     */
+    @Value("${short-link.fetch.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    /**
+     * 单次请求超时时间（毫秒），包括读取 head
+     */
+    @Value("${short-link.fetch.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+
+    /**
+     * 最多读取的响应字节数
+     */
+    @Value("${short-link.fetch.max-head-bytes:65536}")
+    private int maxHeadBytes;
+
+    /**
+     * 全局最大并发请求数
+     */
+    @Value("${short-link.fetch.max-concurrency:64}")
+    private int maxConcurrency;
+
+    /**
+     * 单站点最大并发请求数
+     */
+    @Value("${short-link.fetch.per-host-concurrency:4}")
+    private int perHostConcurrency;
+
+    /**
+     * 每个并发上限下最多排队的请求数
+     */
+    @Value("${short-link.fetch.max-pending:1000}")
+    private int maxPending;
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+    private ConcurrencyLimiter globalLimiter;
+    private Cache<String, ConcurrencyLimiter> hostLimiters;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "short-link-fetch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+        globalLimiter = new ConcurrencyLimiter(maxConcurrency, maxPending, executor);
+        hostLimiters = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 获取网站标题
+     * @param url 标准化后的 URL
+     * @return 网站标题；请求失败、4xx/5xx 或未声明标题时为 null；超过并发上限时异常完成
+     */
+    public CompletableFuture<String> fetchTitle(String url) {
+        return fetch(url).thenApply(metadata -> {
+            String title = metadata.getTitle();
+            return metadata.isSuccess() && title != null && !title.trim().isEmpty() ? title.trim() : null;
+        });
+    }
+
+    /**
+     * 获取网站图标：优先使用 head 中声明的图标，未声明时 HEAD 请求 /favicon.ico
+     * @param url 网站任一页面 URL
+     * @return 图标绝对地址；都获取失败时为 null；超过并发上限时异常完成
+     */
+    public CompletableFuture<String> fetchFavicon(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return withPermit(uri.getHost(), () -> send(uri).thenCompose(metadata -> {
+            if (metadata.getFaviconUrl() != null || metadata.getStatusCode() == 0) {
+                // 已声明图标，或站点不可达（不再尝试 /favicon.ico）
+                return CompletableFuture.completedFuture(metadata.getFaviconUrl());
+            }
+            String defaultFavicon = uri.getScheme() + "://" + uri.getRawAuthority() + "/favicon.ico";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(defaultFavicon))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofMillis(requestTimeoutMs))
+                    .header("User-Agent", USER_AGENT)
+                    .build();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> response.statusCode() >= 200 && response.statusCode() < 400 ? defaultFavicon : null)
+                    .exceptionally(ex -> null);
+        }));
+    }
+
+    /**
+     * 获取网站 head 中的元数据
+     * @param url 标准化后的 URL
+     * @return 元数据，请求失败时为 SiteMetadata.FAILED；超过并发上限时异常完成
+     */
+    public CompletableFuture<SiteMetadata> fetch(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(SiteMetadata.FAILED);
+        }
+        return withPermit(uri.getHost(), () -> send(uri));
+    }
+
+    private CompletableFuture<SiteMetadata> send(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .GET()
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html,application/xhtml+xml")
+                .build();
+        return httpClient.sendAsync(request, responseInfo -> new HeadBodySubscriber(responseInfo.statusCode() >= 400 ? 0 : maxHeadBytes))
+                // HttpRequest.timeout 只约束到响应头，读取 head 另设超时
+                .orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(this::parse)
+                .exceptionally(ex -> {
+                    log.warn("获取网站元数据失败：URL={}, 错误信息={}", uri, ex.getMessage());
+                    return SiteMetadata.FAILED;
+                });
+    }
+
+    private SiteMetadata parse(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 400) {
+            return new SiteMetadata(response.statusCode(), null, null);
+        }
+        // 未声明字符集时由 Jsoup 按 BOM 或 meta charset 识别
+        String charset = response.headers().firstValue("Content-Type")
+                .map(CHARSET_PATTERN::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .orElse(null);
+        try {
+            Document document = Jsoup.parse(new ByteArrayInputStream(response.body()), charset, response.uri().toString());
+            Element iconLink = document.selectFirst("link[rel~=(?i)(icon|shortcut icon)]");
+            if (iconLink == null) {
+                iconLink = document.selectFirst("link[rel~=(?i)apple-touch-icon]");
+            }
+            String faviconUrl = iconLink != null ? iconLink.absUrl("href") : null;
+            return new SiteMetadata(response.statusCode(), document.title(), faviconUrl == null || faviconUrl.isEmpty() ? null : faviconUrl);
+        } catch (Exception e) {
+            log.warn("解析网站元数据失败：URL={}, 错误信息={}", response.uri(), e.getMessage());
+            return new SiteMetadata(response.statusCode(), null, null);
+        }
+    }
+
+    /**
+     * 依次占用单站点和全局并发许可后执行请求，请求完成后释放
+     */
+    private <T> CompletableFuture<T> withPermit(String host, Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ConcurrencyLimiter hostLimiter = hostLimiters.get(host == null ? "" : host.toLowerCase(Locale.ROOT),
+                key -> new ConcurrencyLimiter(perHostConcurrency, maxPending, executor));
+        boolean accepted = hostLimiter.submit(() -> {
+            boolean globalAccepted = globalLimiter.submit(() -> {
+                CompletableFuture<T> future;
+                try {
+                    future = request.get();
+                } catch (Exception e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                future.whenComplete((value, ex) -> {
+                    globalLimiter.release();
+                    hostLimiter.release();
+                    if (ex != null) {
+                        result.completeExceptionally(ex);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            });
+            if (!globalAccepted) {
+                hostLimiter.release();
+                result.completeExceptionally(new RejectedExecutionException("网站元数据获取请求过多"));
+            }
+        });
+        if (!accepted) {
+            result.completeExceptionally(new RejectedExecutionException("网站元数据获取请求过多：" + host));
+        }
+        return result;
+    }
+
+    /**
+     * 非阻塞并发限制：有许可时立即执行，否则排队，释放许可时把下一个任务交给线程池执行
+     */
+    private static final class ConcurrencyLimiter {
+
+        private final int maxPermits;
+        private final int maxPending;
+        private final Executor executor;
+        private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+        private int inUse;
+
+        private ConcurrencyLimiter(int maxPermits, int maxPending, Executor executor) {
+            this.maxPermits = maxPermits;
+            this.maxPending = maxPending;
+            this.executor = executor;
+        }
+
+        /**
+         * @return false 表示排队已满，任务未执行
+         */
+        private boolean submit(Runnable task) {
+            synchronized (this) {
+                if (inUse >= maxPermits) {
+                    if (pending.size() >= maxPending) {
+                        return false;
+                    }
+                    pending.addLast(task);
+                    return true;
+                }
+                inUse++;
+            }
+            task.run();
+            return true;
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = pending.pollFirst();
+                if (next == null) {
+                    inUse--;
+                    return;
+                }
+            }
+            // 许可直接转交给排队的任务，交给线程池执行，避免请求同步完成时在释放线程上递归
+            executor.execute(next);
+        }
+    }
+
+    /**
+     * 只读取 head 部分的响应体订阅者，满足条件后取消订阅，不再读取剩余内容
+     */
+    private static final class HeadBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+        private final int maxBytes;
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final StringBuilder scanText = new StringBuilder();
+        private Flow.Subscription subscription;
+
+        private HeadBodySubscriber(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (maxBytes <= 0) {
+                subscription.cancel();
+                body.complete(new byte[0]);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                buffer.write(bytes, 0, bytes.length);
+                // 标签均为 ASCII，按单字节解码即可判断，不受页面字符集影响
+                scanText.append(new String(bytes, StandardCharsets.ISO_8859_1).toLowerCase(Locale.ROOT));
+            }
+            if (buffer.size() >= maxBytes || headComplete()) {
+                subscription.cancel();
+                body.complete(buffer.toByteArray());
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(buffer.toByteArray());
+        }
+
+        private boolean headComplete() {
+            return scanText.indexOf("</head>") >= 0
+                    || scanText.indexOf("<body") >= 0
+                    || (scanText.indexOf("</title>") >= 0 && ICON_LINK_PATTERN.matcher(scanText).find());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.nageoffer.shorlink.project.generator;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.common.convention.exception.ServiceException;
+import com.nageoffer.shorlink.project.toolkit.HashUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * 功能描述: 短链接号段分配器
+ * </p>
+ * 每个节点通过 Redis INCRBY 一次租用 step 个连续号码，在内存中用 AtomicLong 无锁发放：
+ * 1. 当前号段剩余不足 prefetch-ratio 时，后台线程提前租用下一个号段（双缓冲），发放线程不等待 Redis
+ * 2. 号段用尽时切换到预取的号段，只有切换这一步加锁
+ * 3. 号码全局唯一，再经 HashUtil.encodeToBase62 混淆编码，生成短链接无需布隆过滤器判重
+ * 节点重启时未发完的号码直接丢弃；Redis 需开启持久化，计数器丢失会导致号码重复
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortUriSegmentAllocator {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 每次租用的号码数量
+     */
+    @Value("${short-link.segment.step:1000}")
+    private long step;
+
+    /**
+     * 当前号段剩余比例低于该值时预取下一个号段
+     */
+    @Value("${short-link.segment.prefetch-ratio:0.2}")
+    private double prefetchRatio;
+
+    private final ReentrantLock switchLock = new ReentrantLock();
+    private final AtomicBoolean prefetching = new AtomicBoolean(false);
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "short-link-segment-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Segment current = new Segment(0, 0);
+    private volatile CompletableFuture<Segment> next;
+
+    @PreDestroy
+    public void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    /**
+     * 获取下一个短链接后缀
+     * @return 7 位 Base62 短链接后缀
+     */
+    public String nextShortUri() {
+        return HashUtil.encodeToBase62(nextId());
+    }
+
+    /**
+     * 获取下一个号码
+     * @return 全局唯一号码
+     */
+    public long nextId() {
+        while (true) {
+            Segment segment = current;
+            long id = segment.cursor.getAndIncrement();
+            if (id < segment.end) {
+                if (segment.end - id <= segment.prefetchThreshold) {
+                    prefetch();
+                }
+                return id;
+            }
+            switchSegment(segment);
+        }
+    }
+
+    private void prefetch() {
+        if (next != null || !prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            next = CompletableFuture.supplyAsync(this::lease, prefetchExecutor);
+        } catch (Exception e) {
+            log.warn("预取短链接号段失败，号段用尽时同步租用", e);
+        } finally {
+            prefetching.set(false);
+        }
+    }
+
+    private void switchSegment(Segment exhausted) {
+        switchLock.lock();
+        try {
+            // 其他线程已完成切换
+            if (current != exhausted) {
+                return;
+            }
+            Segment segment = null;
+            CompletableFuture<Segment> prefetched = next;
+            next = null;
+            if (prefetched != null) {
+                try {
+                    segment = prefetched.join();
+                } catch (Exception e) {
+                    log.warn("预取的短链接号段不可用，同步租用", e);
+                }
+            }
+            current = segment != null ? segment : lease();
+        } finally {
+            switchLock.unlock();
+        }
+    }
+
+    private Segment lease() {
+        Long end = stringRedisTemplate.opsForValue().increment(RedisKeyConstant.SHORT_LINK_SEGMENT_KEY, step);
+        if (end == null) {
+            throw new ServiceException("短链接号段租用失败");
+        }
+        if (end > HashUtil.SEGMENT_CODE_CAPACITY) {
+            throw new ServiceException("短链接号段已耗尽");
+        }
+        log.info("租用短链接号段：[{}, {})", end - step, end);
+        return new Segment(end - step, end);
+    }
+
+    /**
+     * 号段：[start, end)，cursor 为下一个待发放的号码
+     */
+    private final class Segment {
+
+        private final AtomicLong cursor;
+        private final long end;
+        private final long prefetchThreshold;
+
+        private Segment(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+            this.prefetchThreshold = (long) ((end - start) * prefetchRatio);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.nageoffer.shorlink.project.job;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.DateUtil;
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.stats.LinkAccessStatsBuffer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 功能描述: 短链接 UV/UIP 汇总定时任务
+ * </p>
+ * 从待汇总集合中批量取出有新访客的短链接，PFCOUNT 当天的 UV/UIP HyperLogLog，
+ * 与上次汇总的基数相减得到增量，写入 LinkAccessStatsBuffer 累加到 t_link_access_stats 当前小时。
+ * 同一天各小时的 uv、uip 之和即为当天的独立访客数、独立 IP 数
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LinkUvRollupScheduledJob {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedissonClient redissonClient;
+    private final LinkAccessStatsBuffer linkAccessStatsBuffer;
+
+    /**
+     * 每次从待汇总集合取出的短链接数量
+     */
+    @Value("${short-link.stats.uv.rollup-batch-size:200}")
+    private int rollupBatchSize;
+
+    /**
+     * 已汇总基数保留时间（小时）
+     */
+    @Value("${short-link.stats.uv.key-ttl-hours:48}")
+    private long keyTtlHours;
+
+    /**
+     * 定时汇总 UV/UIP，默认每分钟一次
+     */
+    @Scheduled(fixedDelayString = "${short-link.stats.uv.rollup-interval-ms:60000}")
+    public void rollup() {
+        RLock lock = redissonClient.getLock(RedisKeyConstant.SHORT_LINK_UV_ROLLUP_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            int total = 0;
+            List<String> members;
+            while ((members = stringRedisTemplate.opsForSet().pop(RedisKeyConstant.SHORT_LINK_UV_DIRTY, rollupBatchSize)) != null && !members.isEmpty()) {
+                rollupBatch(members);
+                total += members.size();
+            }
+            if (total > 0) {
+                log.info("短链接 UV/UIP 汇总完成，共 {} 个短链接", total);
+            }
+        } catch (Exception e) {
+            log.error("短链接 UV/UIP 汇总失败", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollupBatch(List<String> members) {
+        List<RollupItem> items = new ArrayList<>(members.size());
+        for (String member : members) {
+            String[] parts = member.split("\\|", 3);
+            if (parts.length == 3) {
+                items.add(new RollupItem(parts[0], parts[1], parts[2]));
+            }
+        }
+        try {
+            List<Object> counts = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+                for (RollupItem item : items) {
+                    stringRedisConnection.pfCount(RedisKeyConstant.getDailyUvKey(item.fullShortUrl, item.date));
+                    stringRedisConnection.pfCount(RedisKeyConstant.getDailyUipKey(item.fullShortUrl, item.date));
+                    stringRedisConnection.hGet(RedisKeyConstant.getUvRolledKey(item.date), item.rolledField());
+                }
+                return null;
+            });
+
+            for (int i = 0; i < items.size(); i++) {
+                RollupItem item = items.get(i);
+                item.uv = toLong(counts.get(i * 3));
+                item.uip = toLong(counts.get(i * 3 + 1));
+                Object rolled = counts.get(i * 3 + 2);
+                if (rolled != null) {
+                    String[] rolledParts = rolled.toString().split(":");
+                    item.rolledUv = Long.parseLong(rolledParts[0]);
+                    item.rolledUip = Long.parseLong(rolledParts[1]);
+                }
+            }
+
+            // 先更新已汇总基数再写入缓冲区，更新失败时整批放回重试，不会重复累加
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+                for (RollupItem item : items) {
+                    String rolledKey = RedisKeyConstant.getUvRolledKey(item.date);
+                    stringRedisConnection.hSet(rolledKey, item.rolledField(), Math.max(item.uv, item.rolledUv) + ":" + Math.max(item.uip, item.rolledUip));
+                    stringRedisConnection.expire(rolledKey, TimeUnit.HOURS.toSeconds(keyTtlHours));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 放回待汇总集合，下次重试
+            stringRedisTemplate.opsForSet().add(RedisKeyConstant.SHORT_LINK_UV_DIRTY, members.toArray(new String[0]));
+            throw e;
+        }
+
+        Date now = new Date();
+        String today = DateUtil.format(now, DatePattern.PURE_DATE_PATTERN);
+        for (RollupItem item : items) {
+            // HyperLogLog 估算值可能小幅回落，只累加正增量
+            int uvDelta = (int) Math.max(item.uv - item.rolledUv, 0);
+            int uipDelta = (int) Math.max(item.uip - item.rolledUip, 0);
+            if (uvDelta == 0 && uipDelta == 0) {
+                continue;
+            }
+            // 跨天后才汇总到的前一天数据记到当天最后一个小时
+            Date accessTime = today.equals(item.date) ? now : DateUtil.endOfDay(DateUtil.parse(item.date, DatePattern.PURE_DATE_PATTERN));
+            linkAccessStatsBuffer.record(item.fullShortUrl, item.gid, accessTime, 0, uvDelta, uipDelta);
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : Long.parseLong(value.toString());
+    }
+
+    /**
+     * 待汇总的短链接：日期 + 分组标识 + 完整短链接
+     */
+    private static class RollupItem {
+
+        private final String date;
+        private final String gid;
+        private final String fullShortUrl;
+        private long uv;
+        private long uip;
+        private long rolledUv;
+        private long rolledUip;
+
+        private RollupItem(String date, String gid, String fullShortUrl) {
+            this.date = date;
+            this.gid = gid;
+            this.fullShortUrl = fullShortUrl;
+        }
+
+        private String rolledField() {
+            return gid + "|" + fullShortUrl;
+        }
+    }
+}
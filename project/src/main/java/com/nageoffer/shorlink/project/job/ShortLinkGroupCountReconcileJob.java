@@ -0,0 +1,96 @@
+package com.nageoffer.shorlink.project.job;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.stats.ShortLinkGroupCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * 功能描述: 分组短链接数量校正定时任务
+ * </p>
+ * 逐批扫描 short_link:group:count 中已初始化的分组，按 t_link 的 GROUP BY 结果覆盖偏差的数量，
+ * 修复增量更新失败或初始化并发窗口造成的误差
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGroupCountReconcileJob {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedissonClient redissonClient;
+    private final ShortLinkGroupCounter shortLinkGroupCounter;
+
+    /**
+     * 每批校正的分组数量
+     */
+    @Value("${short-link.group-count.reconcile-batch-size:200}")
+    private int reconcileBatchSize;
+
+    /**
+     * 定时校正分组短链接数量，默认每 10 分钟一次
+     */
+    @Scheduled(fixedDelayString = "${short-link.group-count.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        RLock lock = redissonClient.getLock(RedisKeyConstant.SHORT_LINK_GROUP_COUNT_RECONCILE_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+        int total = 0;
+        int repaired = 0;
+        try (Cursor<Map.Entry<Object, Object>> cursor = stringRedisTemplate.opsForHash().scan(
+                RedisKeyConstant.SHORT_LINK_GROUP_COUNT_KEY, ScanOptions.scanOptions().count(reconcileBatchSize).build())) {
+            Map<String, Integer> batch = new HashMap<>(reconcileBatchSize * 2);
+            while (cursor.hasNext()) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                batch.put(entry.getKey().toString(), Integer.parseInt(entry.getValue().toString()));
+                if (batch.size() >= reconcileBatchSize) {
+                    repaired += reconcileBatch(batch);
+                    total += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                repaired += reconcileBatch(batch);
+                total += batch.size();
+            }
+            if (repaired > 0) {
+                log.info("分组短链接数量校正完成，检查 {} 个分组，修正 {} 个", total, repaired);
+            }
+        } catch (Exception e) {
+            log.error("分组短链接数量校正失败", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int reconcileBatch(Map<String, Integer> cachedCounts) {
+        Map<String, Integer> actualCounts = shortLinkGroupCounter.loadFromDatabase(new ArrayList<>(cachedCounts.keySet()));
+        Map<String, String> repairs = new HashMap<>();
+        actualCounts.forEach((gid, count) -> {
+            if (!count.equals(cachedCounts.get(gid))) {
+                repairs.put(gid, String.valueOf(count));
+            }
+        });
+        if (!repairs.isEmpty()) {
+            log.debug("修正分组短链接数量：{}", repairs.keySet());
+            stringRedisTemplate.opsForHash().putAll(RedisKeyConstant.SHORT_LINK_GROUP_COUNT_KEY, repairs);
+        }
+        return repairs.size();
+    }
+}
@@ -0,0 +1,99 @@
+package com.nageoffer.shorlink.project.job;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.stats.ShortLinkHotTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 功能描述: 热点短链接排行榜维护定时任务
+ * </p>
+ * 1. 合并：每个节点定期取出本地 ShortLinkHotTracker 的统计结果，管道 ZINCRBY 累加到 short_link:hot:rank
+ * 2. 衰减：每个衰减周期由一个节点把全部分数乘以 decay-factor，删除分数不超过 1 的成员，
+ *    并只保留分数最高的 max-size 个，排行榜反映近期热度且大小有上限
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkHotRankScheduledJob {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkHotTracker shortLinkHotTracker;
+
+    /**
+     * 衰减周期（毫秒）
+     */
+    @Value("${short-link.hot-rank.decay-interval-ms:3600000}")
+    private long decayIntervalMs;
+
+    /**
+     * 每个衰减周期分数乘以的系数
+     */
+    @Value("${short-link.hot-rank.decay-factor:0.5}")
+    private double decayFactor;
+
+    /**
+     * 排行榜最多保留的短链接数量，需不小于按需预热的 max-top-n
+     */
+    @Value("${short-link.hot-rank.max-size:500000}")
+    private long maxSize;
+
+    /**
+     * 定时合并本节点热点统计，默认每 10 秒一次
+     */
+    @Scheduled(fixedDelayString = "${short-link.hot-rank.merge-interval-ms:10000}")
+    public void merge() {
+        Map<String, Long> hits = shortLinkHotTracker.drain();
+        if (hits.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+                hits.forEach((member, count) -> stringRedisConnection.zIncrBy(RedisKeyConstant.SHORT_LINK_HOT_RANK, count, member));
+                return null;
+            });
+        } catch (Exception e) {
+            // 热度只用于缓存预热，丢失一个周期的统计可以接受
+            log.error("合并热点短链接统计失败，{} 条", hits.size(), e);
+        }
+    }
+
+    /**
+     * 定时衰减排行榜分数，每个衰减周期所有节点中只有一个执行
+     */
+    @Scheduled(fixedDelayString = "${short-link.hot-rank.decay-interval-ms:3600000}",
+            initialDelayString = "${short-link.hot-rank.decay-interval-ms:3600000}")
+    public void decay() {
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(
+                    RedisKeyConstant.SHORT_LINK_HOT_RANK_DECAY_LOCK, "1", decayIntervalMs, TimeUnit.MILLISECONDS);
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+            stringRedisTemplate.opsForZSet().unionAndStore(RedisKeyConstant.SHORT_LINK_HOT_RANK, Collections.emptyList(),
+                    RedisKeyConstant.SHORT_LINK_HOT_RANK, Aggregate.SUM, Weights.of(decayFactor));
+            Long expired = stringRedisTemplate.opsForZSet().removeRangeByScore(RedisKeyConstant.SHORT_LINK_HOT_RANK, 0, 1);
+            Long trimmed = stringRedisTemplate.opsForZSet().removeRange(RedisKeyConstant.SHORT_LINK_HOT_RANK, 0, -maxSize - 1);
+            log.info("热点短链接排行榜衰减完成，移除低热度 {} 个，裁剪 {} 个", expired, trimmed);
+        } catch (Exception e) {
+            log.error("热点短链接排行榜衰减失败", e);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.nageoffer.shorlink.project.mq.consumer;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.nageoffer.shorlink.project.stats.ShortLinkStatsProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * 功能描述: 短链接访问事件消费者（Redis Stream 消费者组）
+ * </p>
+ * 1. parallelism 个工作线程以同一消费者组 XREADGROUP 批量拉取事件，由 ShortLinkStatsProcessor 合并并同步落库后批量 ACK
+ * 2. 定时通过 XPENDING + XCLAIM 接管空闲超过 reclaim-idle-ms 的未确认消息（消费者宕机后遗留），
+ *    投递次数超过 max-delivery-count 的消息视为无法处理，记录日志后直接确认
+ * 3. 定时按 max-length 近似裁剪 Stream，防止消息无限堆积
+ * 事件只在整批写入数据库后才 ACK，写库失败或进程被强制杀死时消息留在待确认列表中，由接管流程重新投递
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsSaveConsumer {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkStatsProcessor shortLinkStatsProcessor;
+
+    /**
+     * 是否通过 Redis Stream 异步统计
+     */
+    @Value("${short-link.stats.stream.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 消费者组名称
+     */
+    @Value("${short-link.stats.stream.group:short-link-stats-group}")
+    private String group;
+
+    /**
+     * 每次 XREADGROUP 拉取的最大消息数
+     */
+    @Value("${short-link.stats.stream.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 消费线程数
+     */
+    @Value("${short-link.stats.stream.parallelism:2}")
+    private int parallelism;
+
+    /**
+     * XREADGROUP 阻塞等待时间（毫秒）
+     */
+    @Value("${short-link.stats.stream.block-ms:2000}")
+    private long blockMs;
+
+    /**
+     * 未确认消息检查间隔（毫秒）
+     */
+    @Value("${short-link.stats.stream.reclaim-interval-ms:30000}")
+    private long reclaimIntervalMs;
+
+    /**
+     * 未确认消息空闲超过该时间（毫秒）后被接管
+     */
+    @Value("${short-link.stats.stream.reclaim-idle-ms:60000}")
+    private long reclaimIdleMs;
+
+    /**
+     * 单条消息最大投递次数
+     */
+    @Value("${short-link.stats.stream.max-delivery-count:5}")
+    private long maxDeliveryCount;
+
+    /**
+     * Stream 保留的最大消息数（近似裁剪）
+     */
+    @Value("${short-link.stats.stream.max-length:1000000}")
+    private long maxLength;
+
+    private volatile boolean running;
+    private String consumerPrefix;
+    private ExecutorService consumeExecutor;
+    private ScheduledExecutorService reclaimExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("短链接访问事件 Stream 消费未开启");
+            return;
+        }
+        createGroupIfAbsent();
+        // 形如 pid@hostname，保证多实例、多进程的消费者名称不重复
+        consumerPrefix = ManagementFactory.getRuntimeMXBean().getName();
+        running = true;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        consumeExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "short-link-stats-consumer-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < parallelism; i++) {
+            String consumerName = consumerPrefix + "-" + i;
+            consumeExecutor.execute(() -> consumeLoop(consumerName));
+        }
+
+        reclaimExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-link-stats-reclaim");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reclaimExecutor.scheduleWithFixedDelay(this::reclaimAndTrim, reclaimIntervalMs, reclaimIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("短链接访问事件消费者启动，消费者组：{}，线程数：{}", group, parallelism);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        reclaimExecutor.shutdownNow();
+        consumeExecutor.shutdown();
+        // 等待正在阻塞读取的线程自然返回，已拉取的消息处理完并 ACK
+        if (!consumeExecutor.awaitTermination(blockMs + 5000, TimeUnit.MILLISECONDS)) {
+            log.warn("短链接访问事件消费线程未按时结束，未确认的消息将由其他实例接管");
+            consumeExecutor.shutdownNow();
+        }
+    }
+
+    private void createGroupIfAbsent() {
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.streamCommands().xGroupCreate(
+                            RedisKeyConstant.SHORT_LINK_LOG_QUEUE.getBytes(StandardCharsets.UTF_8),
+                            group,
+                            ReadOffset.from("0"),
+                            true
+                    ));
+            log.info("创建短链接访问事件消费者组：{}", group);
+        } catch (Exception e) {
+            // 消费者组已存在时 Redis 返回 BUSYGROUP
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private void consumeLoop(String consumerName) {
+        StreamOperations<String, Object, Object> streamOperations = stringRedisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(group, consumerName);
+        StreamReadOptions readOptions = StreamReadOptions.empty().count(batchSize).block(Duration.ofMillis(blockMs));
+        StreamOffset<String> offset = StreamOffset.create(RedisKeyConstant.SHORT_LINK_LOG_QUEUE, ReadOffset.lastConsumed());
+        while (running) {
+            try {
+                List<MapRecord<String, Object, Object>> records = streamOperations.read(consumer, readOptions, offset);
+                if (records != null && !records.isEmpty()) {
+                    handle(records);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("短链接访问事件消费异常，消费者：{}", consumerName, e);
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void handle(List<MapRecord<String, Object, Object>> records) {
+        List<ShortLinkStatsRecordDTO> statsRecords = new ArrayList<>(records.size());
+        RecordId[] recordIds = new RecordId[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            MapRecord<String, Object, Object> record = records.get(i);
+            recordIds[i] = record.getId();
+            try {
+                statsRecords.add(ShortLinkStatsRecordDTO.fromMap(record.getValue()));
+            } catch (Exception e) {
+                log.warn("短链接访问事件格式错误，直接确认：{}", record.getId(), e);
+            }
+        }
+        // 写库失败时直接抛出，不 ACK，消息空闲超过 reclaim-idle-ms 后被重新投递
+        shortLinkStatsProcessor.persist(statsRecords);
+        stringRedisTemplate.opsForStream().acknowledge(RedisKeyConstant.SHORT_LINK_LOG_QUEUE, group, recordIds);
+    }
+
+    private void reclaimAndTrim() {
+        try {
+            reclaimPending();
+        } catch (Exception e) {
+            log.error("接管短链接访问事件未确认消息异常", e);
+        }
+        try {
+            stringRedisTemplate.opsForStream().trim(RedisKeyConstant.SHORT_LINK_LOG_QUEUE, maxLength, true);
+        } catch (Exception e) {
+            log.error("裁剪短链接访问事件 Stream 异常", e);
+        }
+    }
+
+    private void reclaimPending() {
+        StreamOperations<String, Object, Object> streamOperations = stringRedisTemplate.opsForStream();
+        String reclaimConsumer = consumerPrefix + "-reclaim";
+        while (running) {
+            PendingMessages pendingMessages = streamOperations.pending(RedisKeyConstant.SHORT_LINK_LOG_QUEUE, group, Range.unbounded(), batchSize);
+            List<RecordId> reclaimIds = new ArrayList<>();
+            List<RecordId> deadIds = new ArrayList<>();
+            for (PendingMessage pendingMessage : pendingMessages) {
+                if (pendingMessage.getElapsedTimeSinceLastDelivery().toMillis() < reclaimIdleMs) {
+                    continue;
+                }
+                if (pendingMessage.getTotalDeliveryCount() > maxDeliveryCount) {
+                    deadIds.add(pendingMessage.getId());
+                } else {
+                    reclaimIds.add(pendingMessage.getId());
+                }
+            }
+            if (!deadIds.isEmpty()) {
+                log.warn("短链接访问事件投递次数超过 {} 次，丢弃：{}", maxDeliveryCount, deadIds);
+                streamOperations.acknowledge(RedisKeyConstant.SHORT_LINK_LOG_QUEUE, group, deadIds.toArray(new RecordId[0]));
+            }
+            if (!reclaimIds.isEmpty()) {
+                List<MapRecord<String, Object, Object>> claimedRecords = streamOperations.claim(
+                        RedisKeyConstant.SHORT_LINK_LOG_QUEUE,
+                        group,
+                        reclaimConsumer,
+                        Duration.ofMillis(reclaimIdleMs),
+                        reclaimIds.toArray(new RecordId[0])
+                );
+                if (claimedRecords != null && !claimedRecords.isEmpty()) {
+                    log.info("接管短链接访问事件未确认消息 {} 条", claimedRecords.size());
+                    handle(claimedRecords);
+                }
+            }
+            // 本批不足 batchSize 说明已检查完全部未确认消息
+            if (pendingMessages.size() < batchSize || reclaimIds.isEmpty() && deadIds.isEmpty()) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.nageoffer.shorlink.project.mq.producer;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>
+ * 功能描述: 短链接访问事件生产者
+ * </p>
+ * 跳转线程只发起一次非阻塞 XADD 即返回，统计入库全部由 ShortLinkStatsSaveConsumer 完成
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsSaveProducer {
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    /**
+     * 是否通过 Redis Stream 异步统计
+     */
+    @Value("${short-link.stats.stream.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 非阻塞发送访问事件，供非阻塞跳转使用
+     * @param record 访问事件
+     * @return 是否发送成功，未开启或发送失败时由调用方降级处理
+     */
+    public Mono<Boolean> sendAsync(ShortLinkStatsRecordDTO record) {
+        if (!enabled) {
+            return Mono.just(false);
+        }
+        return reactiveStringRedisTemplate.opsForStream()
+                .add(StreamRecords.newRecord()
+                        .in(RedisKeyConstant.SHORT_LINK_LOG_QUEUE)
+                        .ofMap(record.toMap()))
+                .map(recordId -> true)
+                .onErrorResume(e -> {
+                    log.error("短链接访问事件发送失败：{}", record.getFullShortUrl(), e);
+                    return Mono.just(false);
+                });
+    }
+}
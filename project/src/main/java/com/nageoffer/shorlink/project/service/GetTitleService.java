@@ -1,5 +1,7 @@
 package com.nageoffer.shorlink.project.service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * <p>
  * 功能描述: URL接口层
@@ -16,4 +18,11 @@ public interface GetTitleService {
      * @return 网站标题，获取失败返回null或默认值
      */
     String getTitleByUrl(String url);
+
+    /**
+     * 异步根据URL获取网站标题，不占用调用线程等待网站响应
+     * @param url 目标网站URL
+     * @return 网站标题，获取失败返回默认值
+     */
+    CompletableFuture<String> getTitleByUrlAsync(String url);
 }
@@ -1,5 +1,10 @@
 package com.nageoffer.shorlink.project.service;
 
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkWarmUpResultDTO;
+import com.nageoffer.shorlink.project.dto.req.ShortLinkCacheWarmUpReqDTO;
+
+import java.util.List;
+
 /**
  * <p>
  * 功能描述: 短链接缓存预热服务接口
@@ -13,13 +18,33 @@ public interface ShortLinkCacheWarmUpService {
     /**
      * 预热热点短链接缓存
      * @param topN 预热数量（Top N）
+     * @return 预热结果，预热异常时返回 null
      */
-    void warmUpHotLinks(int topN);
+    ShortLinkWarmUpResultDTO warmUpHotLinks(int topN);
     
     /**
      * 预热指定短链接
      * @param fullShortUrl 完整短链接
      */
     void warmUpSingleLink(String fullShortUrl);
+    
+    /**
+     * 预热指定分组下的全部短链接
+     * @param gidList 分组标识列表
+     * @return 写入缓存的短链接数量
+     */
+    int warmUpByGids(List<String> gidList);
+    
+    /**
+     * 预热指定域名下的全部短链接
+     * @param domain 短链接域名
+     * @return 写入缓存的短链接数量
+     */
+    int warmUpByDomain(String domain);
+    
+    /**
+     * 提交按需预热任务，后台异步执行，同一时刻只允许一个按需预热任务
+     * @param requestParam 预热范围
+     */
+    void submitWarmUp(ShortLinkCacheWarmUpReqDTO requestParam);
 }
-
@@ -3,16 +3,18 @@ package com.nageoffer.shorlink.project.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkRedirectDTO;
+import com.nageoffer.shorlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkCreateReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkPageReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkUpdateReqDTO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkCreateRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkGroupCountRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkPageRespDTO;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
 import java.util.List;
 
 /**
@@ -32,6 +34,13 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
      */
     ShortLinkCreateRespDTO createShortLink(ShortLinkCreateReqDTO requestParam);
 
+    /**
+     * 批量创建短链接
+     * @param requestParam 批量创建短链接请求参数
+     * @return 逐条创建结果
+     */
+    ShortLinkBatchCreateRespDTO batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam);
+
     /**
      * 修改短链接
      * @param requestParam  修改短链接请求参数
@@ -53,10 +62,10 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
     List<ShortLinkGroupCountRespDTO> countByGidList(List<String> gidList);
 
     /**
-     * 短链接跳转
+     * 短链接跳转，非阻塞地解析短链接
      * @param shortUri 短链接后缀
      * @param request Http 请求
-     * @param response Http 响应
+     * @return 跳转结果
      */
-    void restoreUrl(String shortUri, HttpServletRequest request, HttpServletResponse response) throws IOException;
+    Mono<ShortLinkRedirectDTO> restoreUrl(String shortUri, HttpServletRequest request);
 }
@@ -6,22 +6,22 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.nageoffer.shorlink.project.cache.ShortLinkCacheManager;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
 import com.nageoffer.shorlink.project.dao.mapper.ShortLinkMapper;
 import com.nageoffer.shorlink.project.dto.req.RecycleBinRecoverReqDTO;
 import com.nageoffer.shorlink.project.dto.req.RecycleBinRemoveReqDTO;
 import com.nageoffer.shorlink.project.dto.req.RecycleBinSaveReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkPageReqDTO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkCursorPageRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkPageRespDTO;
 import com.nageoffer.shorlink.project.service.RecycleBinService;
+import com.nageoffer.shorlink.project.stats.ShortLinkGroupCounter;
+import com.nageoffer.shorlink.project.toolkit.PageCursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import static com.nageoffer.shorlink.project.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
-import static com.nageoffer.shorlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
-
 /**
  * <p>
  * 功能描述: 回收站管理接口实现层
@@ -35,8 +35,9 @@ import static com.nageoffer.shorlink.project.common.constant.RedisKeyConstant.GO
 @RequiredArgsConstructor
 public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements RecycleBinService {
     
-    private final StringRedisTemplate stringRedisTemplate;
     private final ShortLinkMapper shortLinkMapper;
+    private final ShortLinkCacheManager shortLinkCacheManager;
+    private final ShortLinkGroupCounter shortLinkGroupCounter;
 
     /**
      * 保存回收站
@@ -52,8 +53,11 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
         ShortLinkDO shortLinkDO = ShortLinkDO.builder()
                 .enableStatus(0)
                 .build();
-        baseMapper.update(shortLinkDO, updateWrapper);
-        stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
+        if (baseMapper.update(shortLinkDO, updateWrapper) > 0) {
+            shortLinkGroupCounter.increment(requestParam.getGid(), -1);
+        }
+        // 清除跳转缓存，并通知所有节点清除本地缓存，移入回收站后立即不可跳转
+        shortLinkCacheManager.evict(requestParam.getFullShortUrl());
     }
 
     /**
@@ -64,15 +68,19 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
 
     @Override
     public IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam) {
-        // select * from t_link where gid = ? and enable_status = 0 and delFlag = 0 order by create_time desc;
+        // select * from t_link where gid = ? and enable_status = 0 and delFlag = 0 [and (create_time, id) < cursor] order by create_time desc, id desc;
         LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
                 .eq(ShortLinkDO::getGid, requestParam.getGid())
                 // 查询未激活状态 - 0
                 .eq(ShortLinkDO::getEnableStatus, 0)
-                .eq(ShortLinkDO::getDelFlag, 0)
-                .orderByDesc(ShortLinkDO::getCreateTime);
+                .eq(ShortLinkDO::getDelFlag, 0);
+        if (PageCursorUtil.applyCursor(queryWrapper, requestParam.getCursor())) {
+            // 按游标翻页：从游标位置取一页，不执行 COUNT
+            requestParam.setCurrent(1);
+            requestParam.setSearchCount(false);
+        }
         IPage<ShortLinkDO> resultPage = baseMapper.selectPage(requestParam, queryWrapper);
-        return resultPage.convert(each -> {
+        return ShortLinkCursorPageRespDTO.of(resultPage, each -> {
             ShortLinkPageRespDTO result = BeanUtil.toBean(each, ShortLinkPageRespDTO.class);
             result.setDomain("http://" + result.getDomain());
             return result;
@@ -97,9 +105,12 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
                 .enableStatus(1)
                 .build();
 
-        baseMapper.update(shortLinkDO, updateWrapper);
+        if (baseMapper.update(shortLinkDO, updateWrapper) > 0) {
+            shortLinkGroupCounter.increment(requestParam.getGid(), 1);
+        }
 
-        stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
+        // 清除回收站期间写入的空值缓存
+        shortLinkCacheManager.evict(requestParam.getFullShortUrl());
     }
 
     /**
@@ -114,5 +125,6 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
                 .eq(ShortLinkDO::getEnableStatus, 0)
                 .eq(ShortLinkDO::getDelFlag, 0);
         baseMapper.delete(updateWrapper);
+        shortLinkCacheManager.evict(requestParam.getFullShortUrl());
     }
 }
@@ -1,27 +1,60 @@
 package com.nageoffer.shorlink.project.service.impl;
 
-import com.alibaba.fastjson.JSON;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.nageoffer.shorlink.project.cache.ShortLinkCacheManager;
 import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.common.convention.exception.ClientException;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkGotoDO;
 import com.nageoffer.shorlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.nageoffer.shorlink.project.dao.mapper.ShortLinkMapper;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkWarmUpResultDTO;
+import com.nageoffer.shorlink.project.dto.req.ShortLinkCacheWarmUpReqDTO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkGroupCountRespDTO;
 import com.nageoffer.shorlink.project.service.ShortLinkCacheWarmUpService;
-import com.nageoffer.shorlink.project.toolkit.LinkUtil;
+import com.nageoffer.shorlink.project.stats.ShortLinkGroupCounter;
+import com.nageoffer.shorlink.project.stats.ShortLinkHotTracker;
+import com.nageoffer.shorlink.project.toolkit.VirtualThreadUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * <p>
  * 功能描述: 短链接缓存预热服务实现类
  * </p>
+ * 1. 热点短链接取自 short_link:hot:rank 排行榜（由 ShortLinkHotTracker 和 ShortLinkHotRankScheduledJob 维护），
+ *    按 gid 查询，不再对全部分表按访问量排序
+ * 2. 所有预热都按 batch-size 分批查询，每批以管道写入 Redis（ShortLinkCacheManager.putAll），支持几十万条的预热
+ * 3. 热点短链接同时写入本节点本地缓存，启动和定时预热后跳转可直接命中一级缓存
+ * 4. 预热进度通过 Micrometer 指标 shortlink.cache.warmup.* 暴露，反映最近一次开始的预热任务
  *
  * @author Hanxuewei
  * @since 2025/10/11
@@ -33,38 +66,141 @@ public class ShortLinkCacheWarmUpServiceImpl implements ShortLinkCacheWarmUpServ
     
     private final ShortLinkMapper shortLinkMapper;
     private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final ShortLinkCacheManager shortLinkCacheManager;
     private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkGroupCounter shortLinkGroupCounter;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * 每批读取排行榜成员、查询数据库的短链接数量
+     */
+    @Value("${short-link.cache.warm-up.batch-size:1000}")
+    private int batchSize;
+    
+    /**
+     * 按需预热热点短链接时 topN 的上限
+     */
+    @Value("${short-link.cache.warm-up.max-top-n:500000}")
+    private int maxTopN;
+
+    /**
+     * 热点排行榜最多保留的短链接数量，预热数量超过该值时排行榜中不会有足够的短链接
+     */
+    @Value("${short-link.hot-rank.max-size:500000}")
+    private long hotRankMaxSize;
+
+    /**
+     * 是否使用虚拟线程执行按需缓存预热（JDK 21 及以上生效）
+     */
+    @Value("${short-link.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+    
+    private final AtomicLong progressTarget = new AtomicLong();
+    private final AtomicLong progressWarmed = new AtomicLong();
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private Counter warmedCounter;
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    public void init() {
+        if (maxTopN > hotRankMaxSize) {
+            log.warn("short-link.cache.warm-up.max-top-n（{}）大于热点排行榜容量 short-link.hot-rank.max-size（{}），按需预热数量以后者为上限",
+                    maxTopN, hotRankMaxSize);
+        }
+        // 按需预热单线程执行，已有任务时直接拒绝，不排队
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                VirtualThreadUtil.newThreadFactory("short-link-warm-up", virtualThreadsEnabled));
+        Gauge.builder("shortlink.cache.warmup.target", progressTarget, AtomicLong::get)
+                .description("最近一次缓存预热的目标数量，按域名预热时未知为 0")
+                .register(meterRegistry);
+        Gauge.builder("shortlink.cache.warmup.warmed", progressWarmed, AtomicLong::get)
+                .description("最近一次缓存预热已写入的数量")
+                .register(meterRegistry);
+        Gauge.builder("shortlink.cache.warmup.progress", this, each -> {
+                    long target = each.progressTarget.get();
+                    return target > 0 ? Math.min(1D, (double) each.progressWarmed.get() / target) : 0D;
+                })
+                .description("最近一次缓存预热的进度（0~1）")
+                .register(meterRegistry);
+        Gauge.builder("shortlink.cache.warmup.running", runningCount, AtomicInteger::get)
+                .description("正在执行的缓存预热任务数量")
+                .register(meterRegistry);
+        warmedCounter = Counter.builder("shortlink.cache.warmup.links")
+                .description("累计预热写入缓存的短链接数量")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
     
     @Override
-    public void warmUpHotLinks(int topN) {
+    public ShortLinkWarmUpResultDTO warmUpHotLinks(int topN) {
         log.info("开始预热热点短链接，预热数量：{}", topN);
         
         try {
-            // 1. 查询热点短链接（按访问量排序）
-            List<ShortLinkDO> hotLinks = shortLinkMapper.selectHotLinks(topN);
-            
-            if (hotLinks == null || hotLinks.isEmpty()) {
-                log.warn("未查询到热点短链接，跳过预热");
-                return;
+            Long rankSize = stringRedisTemplate.opsForZSet().zCard(RedisKeyConstant.SHORT_LINK_HOT_RANK);
+            long target = Math.min(topN, rankSize == null ? 0 : rankSize);
+            if (target <= 0) {
+                log.warn("热点排行榜为空，跳过预热");
+                return new ShortLinkWarmUpResultDTO(0, 0);
             }
             
-            log.info("查询到 {} 条热点短链接，开始缓存", hotLinks.size());
-            
-            // 2. 逐个加载到缓存
-            int successCount = 0;
-            for (ShortLinkDO shortLink : hotLinks) {
-                try {
-                    warmUpSingleLinkInternal(shortLink);
-                    successCount++;
-                } catch (Exception e) {
-                    log.error("预热短链接失败：{}", shortLink.getFullShortUrl(), e);
+            beginProgress(target);
+            int warmed = 0;
+            List<String> staleMembers = new ArrayList<>();
+            try {
+                // 1. 从热点排行榜分页读取 Top N，不扫描数据库
+                for (long start = 0; start < target; start += batchSize) {
+                    Set<String> hotMembers = stringRedisTemplate.opsForZSet().reverseRange(
+                            RedisKeyConstant.SHORT_LINK_HOT_RANK, start, Math.min(start + batchSize, target) - 1);
+                    if (hotMembers == null || hotMembers.isEmpty()) {
+                        break;
+                    }
+                    
+                    // 2. 按 gid 分组，每组只路由到一张分表
+                    Map<String, List<String>> gidToFullShortUrls = new HashMap<>();
+                    for (String member : hotMembers) {
+                        int separatorIndex = member.indexOf(ShortLinkHotTracker.MEMBER_SEPARATOR);
+                        if (separatorIndex <= 0) {
+                            continue;
+                        }
+                        gidToFullShortUrls.computeIfAbsent(member.substring(0, separatorIndex), each -> new ArrayList<>())
+                                .add(member.substring(separatorIndex + 1));
+                    }
+                    
+                    // 3. 按分组批量查询并以管道方式写入缓存
+                    Set<String> loadedMembers = new HashSet<>(hotMembers.size() * 2);
+                    for (Map.Entry<String, List<String>> entry : gidToFullShortUrls.entrySet()) {
+                        String gid = entry.getKey();
+                        List<ShortLinkDO> hotLinks = putValid(shortLinkMapper.selectList(Wrappers.lambdaQuery(ShortLinkDO.class)
+                                .eq(ShortLinkDO::getGid, gid)
+                                .in(ShortLinkDO::getFullShortUrl, entry.getValue())
+                                .eq(ShortLinkDO::getEnableStatus, 1)
+                                .eq(ShortLinkDO::getDelFlag, 0)), true);
+                        hotLinks.forEach(each -> loadedMembers.add(ShortLinkHotTracker.toMember(gid, each.getFullShortUrl())));
+                        warmed += hotLinks.size();
+                    }
+                    hotMembers.stream().filter(each -> !loadedMembers.contains(each)).forEach(staleMembers::add);
                 }
+                
+                // 4. 已删除、停用、过期或修改了分组的短链接从排行榜移除，不再占用 Top N 名额；
+                //    分页读取结束后再移除，避免排名前移导致漏读
+                for (int i = 0; i < staleMembers.size(); i += batchSize) {
+                    stringRedisTemplate.opsForZSet().remove(RedisKeyConstant.SHORT_LINK_HOT_RANK,
+                            staleMembers.subList(i, Math.min(i + batchSize, staleMembers.size())).toArray());
+                }
+            } finally {
+                runningCount.decrementAndGet();
             }
             
-            log.info("缓存预热完成，成功：{}，失败：{}", successCount, hotLinks.size() - successCount);
+            log.info("缓存预热完成，成功：{}，移除失效成员：{}", warmed, staleMembers.size());
+            return new ShortLinkWarmUpResultDTO(target, warmed);
             
         } catch (Exception e) {
             log.error("缓存预热异常", e);
+            return null;
         }
     }
     
@@ -106,26 +242,137 @@ public class ShortLinkCacheWarmUpServiceImpl implements ShortLinkCacheWarmUpServ
         }
     }
     
+    @Override
+    public int warmUpByGids(List<String> gidList) {
+        log.info("开始按分组预热短链接，分组数量：{}", gidList.size());
+        long target = shortLinkGroupCounter.count(gidList).stream()
+                .mapToLong(ShortLinkGroupCountRespDTO::getShortLinkCount)
+                .sum();
+        beginProgress(target);
+        int warmed = 0;
+        try {
+            // 每个分组只路由到一张分表
+            for (String gid : gidList) {
+                warmed += warmUpByCondition(queryWrapper -> queryWrapper.eq(ShortLinkDO::getGid, gid));
+            }
+        } finally {
+            runningCount.decrementAndGet();
+        }
+        log.info("按分组预热短链接完成，分组数量：{}，成功：{}", gidList.size(), warmed);
+        return warmed;
+    }
+    
+    @Override
+    public int warmUpByDomain(String domain) {
+        log.info("开始按域名预热短链接：{}", domain);
+        beginProgress(0);
+        int warmed;
+        try {
+            // 域名不是分片键，每批查询会路由到全部分表，只用于按需预热
+            warmed = warmUpByCondition(queryWrapper -> queryWrapper.eq(ShortLinkDO::getDomain, domain));
+        } finally {
+            runningCount.decrementAndGet();
+        }
+        log.info("按域名预热短链接完成：{}，成功：{}", domain, warmed);
+        return warmed;
+    }
+    
+    @Override
+    public void submitWarmUp(ShortLinkCacheWarmUpReqDTO requestParam) {
+        List<String> gidList = requestParam.getGidList();
+        String domain = requestParam.getDomain();
+        Integer topN = requestParam.getTopN();
+        if (CollUtil.isEmpty(gidList) && StrUtil.isBlank(domain) && (topN == null || topN <= 0)) {
+            throw new ClientException("预热范围不能为空");
+        }
+        long topNLimit = Math.min(maxTopN, hotRankMaxSize);
+        if (topN != null && topN > topNLimit) {
+            throw new ClientException("预热数量不能超过 " + topNLimit);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (CollUtil.isNotEmpty(gidList)) {
+                        warmUpByGids(gidList);
+                    }
+                    if (StrUtil.isNotBlank(domain)) {
+                        warmUpByDomain(domain);
+                    }
+                    if (topN != null && topN > 0) {
+                        warmUpHotLinks(topN);
+                    }
+                } catch (Exception e) {
+                    log.error("按需预热短链接失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ClientException("已有缓存预热任务正在执行，请稍后再试");
+        }
+    }
+    
+    /**
+     * 按 id 递增分批查询满足条件的短链接并写入缓存，避免深分页和一次加载过多数据
+     * @param condition 额外查询条件
+     * @return 写入缓存的短链接数量
+     */
+    private int warmUpByCondition(Consumer<LambdaQueryWrapper<ShortLinkDO>> condition) {
+        int warmed = 0;
+        long lastId = 0;
+        while (true) {
+            LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                    .eq(ShortLinkDO::getEnableStatus, 1)
+                    .eq(ShortLinkDO::getDelFlag, 0)
+                    .gt(ShortLinkDO::getId, lastId)
+                    .orderByAsc(ShortLinkDO::getId);
+            condition.accept(queryWrapper);
+            List<ShortLinkDO> records = shortLinkMapper.selectPage(new Page<>(1, batchSize, false), queryWrapper).getRecords();
+            if (records.isEmpty()) {
+                break;
+            }
+            lastId = records.get(records.size() - 1).getId();
+            warmed += putValid(records, false).size();
+            if (records.size() < batchSize) {
+                break;
+            }
+        }
+        return warmed;
+    }
+    
+    /**
+     * 过滤已过期的短链接后批量写入缓存，并更新预热进度
+     * @param shortLinkList 短链接列表
+     * @param includeLocal 是否同时写入本节点本地缓存，只用于数量有限的热点短链接
+     * @return 写入缓存的短链接
+     */
+    private List<ShortLinkDO> putValid(List<ShortLinkDO> shortLinkList, boolean includeLocal) {
+        Date now = new Date();
+        List<ShortLinkDO> validLinks = shortLinkList.stream()
+                .filter(each -> each.getValidDate() == null || each.getValidDate().after(now))
+                .collect(Collectors.toList());
+        if (validLinks.isEmpty()) {
+            return validLinks;
+        }
+        int written = shortLinkCacheManager.putAll(validLinks);
+        if (includeLocal) {
+            shortLinkCacheManager.putAllLocal(validLinks);
+        }
+        progressWarmed.addAndGet(written);
+        warmedCounter.increment(written);
+        return validLinks;
+    }
+    
+    private void beginProgress(long target) {
+        runningCount.incrementAndGet();
+        progressTarget.set(target);
+        progressWarmed.set(0);
+    }
+    
     /**
      * 内部方法：将短链接写入缓存
      * @param shortLinkDO 短链接对象
      */
     private void warmUpSingleLinkInternal(ShortLinkDO shortLinkDO) {
-        String cacheKey = RedisKeyConstant.getShortLinkCacheKey(shortLinkDO.getFullShortUrl());
-        String jsonValue = JSON.toJSONString(shortLinkDO);
-        
-        // 使用 LinkUtil 计算缓存有效期
-        long cacheValidTime = LinkUtil.getLinkCacheValidDate(shortLinkDO.getValidDate());
-        
-        // 写入 Redis
-        stringRedisTemplate.opsForValue().set(
-            cacheKey, 
-            jsonValue, 
-            cacheValidTime, 
-            TimeUnit.MILLISECONDS
-        );
-        
-        log.debug("缓存预热 - 短链接：{}，TTL：{}ms", shortLinkDO.getFullShortUrl(), cacheValidTime);
+        shortLinkCacheManager.put(shortLinkDO.getFullShortUrl(), shortLinkDO);
+        log.debug("缓存预热 - 短链接：{}", shortLinkDO.getFullShortUrl());
     }
 }
-
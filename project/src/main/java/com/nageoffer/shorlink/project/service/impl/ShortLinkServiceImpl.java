@@ -1,55 +1,65 @@
 package com.nageoffer.shorlink.project.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.date.DateUtil;
-import cn.hutool.core.date.Week;
+import cn.hutool.core.lang.UUID;
 import cn.hutool.core.text.StrBuilder;
-import com.alibaba.fastjson.JSON;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.core.util.URLUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.cache.ShortLinkBloomFilter;
+import com.nageoffer.shorlink.project.cache.ShortLinkCacheLoader;
+import com.nageoffer.shorlink.project.cache.ShortLinkCacheManager;
+import com.nageoffer.shorlink.project.cache.ShortLinkCacheResult;
 import com.nageoffer.shorlink.project.common.constant.ShortLinkConstant;
 import com.nageoffer.shorlink.project.common.convention.exception.ClientException;
 import com.nageoffer.shorlink.project.common.convention.exception.ServiceException;
 import com.nageoffer.shorlink.project.common.enums.ValidDateTypeEnum;
-import com.nageoffer.shorlink.project.dao.entity.LinkAccessStatsDO;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
 import com.nageoffer.shorlink.project.dao.entity.ShortLinkGotoDO;
-import com.nageoffer.shorlink.project.dao.mapper.LinkAccessStatsMapper;
 import com.nageoffer.shorlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.nageoffer.shorlink.project.dao.mapper.ShortLinkMapper;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkRedirectDTO;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.nageoffer.shorlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkCreateReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkPageReqDTO;
 import com.nageoffer.shorlink.project.dto.req.ShortLinkUpdateReqDTO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkBatchCreateItemRespDTO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkCreateRespDTO;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkCursorPageRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkGroupCountRespDTO;
 import com.nageoffer.shorlink.project.dto.resp.ShortLinkPageRespDTO;
+import com.nageoffer.shorlink.project.enrich.ShortLinkMetadataEnricher;
+import com.nageoffer.shorlink.project.generator.ShortUriSegmentAllocator;
+import com.nageoffer.shorlink.project.mq.producer.ShortLinkStatsSaveProducer;
 import com.nageoffer.shorlink.project.service.ShortLinkService;
+import com.nageoffer.shorlink.project.stats.ShortLinkGroupCounter;
+import com.nageoffer.shorlink.project.stats.ShortLinkStatsProcessor;
 import com.nageoffer.shorlink.project.toolkit.FaviconUtil;
-import com.nageoffer.shorlink.project.toolkit.HashUtil;
+import com.nageoffer.shorlink.project.toolkit.LinkUtil;
+import com.nageoffer.shorlink.project.toolkit.PageCursorUtil;
+import com.nageoffer.shorlink.project.toolkit.RateLimitedLogger;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RBloomFilter;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
-import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import static com.nageoffer.shorlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
-
 /**
  * <p>
  * 功能描述: 短链接接口实现层
@@ -62,18 +72,30 @@ import static com.nageoffer.shorlink.project.common.constant.RedisKeyConstant.GO
 @Service
 @AllArgsConstructor
 public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements ShortLinkService {
-    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+
+    /**
+     * 跳转路径上可被扫描请求大量触发的日志，每秒最多输出 20 条
+     */
+    private static final RateLimitedLogger REDIRECT_LOG = new RateLimitedLogger(log, 20);
+
+    private final ShortLinkBloomFilter shortLinkBloomFilter;
     private final ShortLinkGotoMapper shortLinkGotoMapper;
     private final StringRedisTemplate stringRedisTemplate;
-    private final RedissonClient redissonClient;
     private final ShortLinkMapper shortLinkMapper;
     private final ValidationAutoConfiguration validationAutoConfiguration;
-    private final LinkAccessStatsMapper linkAccessStatsMapper;
+    private final ShortLinkCacheManager shortLinkCacheManager;
+    private final ShortLinkCacheLoader shortLinkCacheLoader;
+    private final ShortLinkStatsSaveProducer shortLinkStatsSaveProducer;
+    private final ShortLinkStatsProcessor shortLinkStatsProcessor;
+    private final ShortUriSegmentAllocator shortUriSegmentAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final ShortLinkMetadataEnricher shortLinkMetadataEnricher;
+    private final ShortLinkGroupCounter shortLinkGroupCounter;
 
     @Override
     public ShortLinkCreateRespDTO createShortLink(ShortLinkCreateReqDTO requestParam) {
-        // 生成短链接
-        String shortLinkSuffix = generateSuffix(requestParam);
+        // 生成短链接，号段分配的号码全局唯一，编码结果不会与已有短链接重复，无需查询布隆过滤器
+        String shortLinkSuffix = shortUriSegmentAllocator.nextShortUri();
         // 拼接完整的短链接
         String fullShorUrl = StrBuilder.create(requestParam.getDomain())
                 .append("/")
@@ -81,20 +103,11 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .toString();
         
         // 处理有效期：如果是永久有效，设置为MySQL支持的最大日期
-        Date validDate;
-        if (requestParam.getValidDateType() != null && 
-            requestParam.getValidDateType() == ValidDateTypeEnum.PERMANENT.getType()) {
-            // 永久有效：设置为9999-12-31 23:59:59
-            validDate = new Date(253402271999000L);
-        } else {
-            // 自定义有效期：使用传入的日期
-            validDate = requestParam.getValidDate();
-        }
-        
-        // 获取网站favicon
-        String faviconUrl = FaviconUtil.getFaviconUrl(requestParam.getOriginUrl());
-        log.debug("获取到favicon: {}", faviconUrl);
+        Date validDate = resolveValidDate(requestParam);
         
+        // 先写入占位图标，真实图标和标题由元数据补全任务异步回填
+        String faviconUrl = FaviconUtil.getPlaceholderFavicon(requestParam.getOriginUrl());
+
         // 组装ShortLinkDO, insert入库
         ShortLinkDO shortLinkDO = ShortLinkDO.builder()
                 .domain(requestParam.getDomain())
@@ -114,26 +127,17 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .fullShortUrl(fullShorUrl)
                 .gid(requestParam.getGid())
                 .build();
-        try {
-            baseMapper.insert(shortLinkDO);
-            shortLinkGotoMapper.insert(linkGotoDO);
-            // 插入成功后才加入布隆过滤器，防止插入失败时误加
-            shortUriCreateCachePenetrationBloomFilter.add(fullShorUrl);
-            
-            // 创建成功后立即写入缓存（缓存预热）
-            setToCache(fullShorUrl, shortLinkDO);
-            log.debug("短链接创建成功，已预热缓存：{}", fullShorUrl);
-        }catch (DuplicateKeyException ex){
-            // 触发唯一键冲突：查询数据库确认是否真的存在
-            LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
-                    .eq(ShortLinkDO::getFullShortUrl, fullShorUrl);
-            ShortLinkDO hasShortLinkDO = baseMapper.selectOne(queryWrapper);
-            // 存在则抛出业务异常
-            if(hasShortLinkDO != null){
-                log.warn("短链接{}重复入库", fullShorUrl);
-                throw new ServiceException("短链接生成重复");
-            }
-        }
+        // 号段分配的短链接全局唯一，不会触发唯一键冲突
+        baseMapper.insert(shortLinkDO);
+        shortLinkGotoMapper.insert(linkGotoDO);
+        // 插入成功后才加入布隆过滤器，防止插入失败时误加
+        shortLinkBloomFilter.add(fullShorUrl);
+
+        // 创建成功后立即写入缓存（缓存预热），同时覆盖可能存在的空值缓存
+        shortLinkCacheManager.put(fullShorUrl, shortLinkDO);
+        log.debug("短链接创建成功，已预热缓存：{}", fullShorUrl);
+        shortLinkMetadataEnricher.enqueue(shortLinkDO);
+        shortLinkGroupCounter.increment(requestParam.getGid(), 1);
         return ShortLinkCreateRespDTO.builder()
                 .fullShortUrl(shortLinkDO.getFullShortUrl())
                 .originUrl(requestParam.getOriginUrl())
@@ -141,6 +145,104 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .build();
     }
 
+    @Override
+    public ShortLinkBatchCreateRespDTO batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam) {
+        List<ShortLinkCreateReqDTO> links = requestParam.getLinks();
+        if (links == null || links.isEmpty()) {
+            throw new ClientException("批量创建短链接列表不能为空");
+        }
+        if (links.size() > ShortLinkConstant.BATCH_CREATE_MAX_SIZE) {
+            throw new ClientException("批量创建短链接单次最多 " + ShortLinkConstant.BATCH_CREATE_MAX_SIZE + " 条");
+        }
+        ShortLinkBatchCreateItemRespDTO[] results = new ShortLinkBatchCreateItemRespDTO[links.size()];
+        // 同一 gid 路由到同一张分表，按 gid 分组后每组一条多值 INSERT
+        Map<String, List<Integer>> gidIndexes = new LinkedHashMap<>();
+        Map<Integer, ShortLinkDO> shortLinkMap = new HashMap<>();
+        Date now = new Date();
+        for (int i = 0; i < links.size(); i++) {
+            ShortLinkCreateReqDTO each = links.get(i);
+            String errorMessage = validateBatchCreateItem(each);
+            if (errorMessage != null) {
+                results[i] = buildBatchCreateFailure(i, each, errorMessage);
+                continue;
+            }
+            String shortUri = shortUriSegmentAllocator.nextShortUri();
+            String fullShortUrl = each.getDomain() + "/" + shortUri;
+            ShortLinkDO shortLinkDO = ShortLinkDO.builder()
+                    .id(IdWorker.getId())
+                    .domain(each.getDomain())
+                    .originUrl(each.getOriginUrl())
+                    .gid(each.getGid())
+                    .createdType(each.getCreatedType())
+                    .validDateType(each.getValidDateType())
+                    .validDate(resolveValidDate(each))
+                    .describe(each.getDescribe())
+                    .shortUri(shortUri)
+                    .enableStatus(1)
+                    .clickNum(0)
+                    .fullShortUrl(fullShortUrl)
+                    .favicon(FaviconUtil.getPlaceholderFavicon(each.getOriginUrl()))
+                    .build();
+            shortLinkDO.setCreateTime(now);
+            shortLinkDO.setUpdateTime(now);
+            shortLinkDO.setDelFlag(0);
+            shortLinkMap.put(i, shortLinkDO);
+            gidIndexes.computeIfAbsent(each.getGid(), key -> new ArrayList<>()).add(i);
+        }
+
+        List<ShortLinkDO> createdList = new ArrayList<>(shortLinkMap.size());
+        gidIndexes.forEach((gid, indexes) -> {
+            for (int from = 0; from < indexes.size(); from += ShortLinkConstant.BATCH_CREATE_INSERT_CHUNK_SIZE) {
+                List<Integer> chunkIndexes = indexes.subList(from, Math.min(from + ShortLinkConstant.BATCH_CREATE_INSERT_CHUNK_SIZE, indexes.size()));
+                List<ShortLinkDO> shortLinkChunk = chunkIndexes.stream().map(shortLinkMap::get).collect(Collectors.toList());
+                List<ShortLinkGotoDO> linkGotoChunk = shortLinkChunk.stream()
+                        .map(each -> ShortLinkGotoDO.builder()
+                                .id(IdWorker.getId())
+                                .fullShortUrl(each.getFullShortUrl())
+                                .gid(each.getGid())
+                                .build())
+                        .collect(Collectors.toList());
+                try {
+                    // 短链接表与路由表同一事务写入，失败时整块回滚并逐条返回失败
+                    transactionTemplate.executeWithoutResult(status -> {
+                        baseMapper.insertBatch(shortLinkChunk);
+                        shortLinkGotoMapper.insertBatch(linkGotoChunk);
+                    });
+                    createdList.addAll(shortLinkChunk);
+                    for (Integer index : chunkIndexes) {
+                        ShortLinkDO shortLinkDO = shortLinkMap.get(index);
+                        results[index] = ShortLinkBatchCreateItemRespDTO.builder()
+                                .index(index)
+                                .success(true)
+                                .gid(shortLinkDO.getGid())
+                                .originUrl(shortLinkDO.getOriginUrl())
+                                .fullShortUrl(shortLinkDO.getFullShortUrl())
+                                .build();
+                    }
+                } catch (Exception ex) {
+                    log.error("批量创建短链接写入失败，gid={}，{} 条", gid, chunkIndexes.size(), ex);
+                    for (Integer index : chunkIndexes) {
+                        results[index] = buildBatchCreateFailure(index, links.get(index), "短链接写入失败");
+                    }
+                }
+            }
+        });
+
+        // 插入成功后才加入布隆过滤器并写入缓存，均以管道方式批量执行
+        shortLinkBloomFilter.addAll(createdList.stream().map(ShortLinkDO::getFullShortUrl).collect(Collectors.toList()));
+        shortLinkCacheManager.putAll(createdList);
+        // 按站点合并后异步补全图标和标题，同一站点只获取一次图标
+        shortLinkMetadataEnricher.enqueueAll(createdList);
+        shortLinkGroupCounter.incrementAll(createdList.stream()
+                .collect(Collectors.groupingBy(ShortLinkDO::getGid, Collectors.counting())));
+        log.info("批量创建短链接完成，成功 {} 条，失败 {} 条", createdList.size(), links.size() - createdList.size());
+        return ShortLinkBatchCreateRespDTO.builder()
+                .successCount(createdList.size())
+                .failureCount(links.size() - createdList.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
     /**
      * 分页查询短链接
      * @param requestParam 分页查询短链接请求参数
@@ -149,220 +251,141 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 
     @Override
     public IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam) {
-        // select * from t_link where gid = ? and enable_status = 1 and delFlag = 0 order by create_time desc;
+        // select * from t_link where gid = ? and enable_status = 1 and delFlag = 0 [and (create_time, id) < cursor] order by create_time desc, id desc;
         LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
                 .eq(ShortLinkDO::getGid, requestParam.getGid())
                 .eq(ShortLinkDO::getEnableStatus, 1)
-                .eq(ShortLinkDO::getDelFlag, 0)
-                .orderByDesc(ShortLinkDO::getCreateTime);
+                .eq(ShortLinkDO::getDelFlag, 0);
+        if (PageCursorUtil.applyCursor(queryWrapper, requestParam.getCursor())) {
+            // 按游标翻页：从游标位置取一页，不再 OFFSET 跳过前面的记录，也不执行 COUNT
+            requestParam.setCurrent(1);
+            requestParam.setSearchCount(false);
+        }
         IPage<ShortLinkDO> resultPage = baseMapper.selectPage(requestParam, queryWrapper);
-        return resultPage.convert(each -> BeanUtil.toBean(each, ShortLinkPageRespDTO.class));
+        return ShortLinkCursorPageRespDTO.of(resultPage, each -> BeanUtil.toBean(each, ShortLinkPageRespDTO.class));
     }
 
     @Override
     public List<ShortLinkGroupCountRespDTO> countByGidList(List<String> gidList) {
-        // 输出参数
-        log.info("接受到的批量查询请求, gidList: {}", gidList);
-
-        LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
-                .select(ShortLinkDO::getGid)
-                .in(ShortLinkDO::getGid, gidList)
-                .eq(ShortLinkDO::getEnableStatus, 1)
-                .eq(ShortLinkDO::getDelFlag, 0);
-        
-        List<ShortLinkDO> shortLinkDOList = baseMapper.selectList(queryWrapper);
-        log.info("查询到的短链接数量：{}", shortLinkDOList.size());
-        log.info("短链接列表: {}", shortLinkDOList);
-        // 按 gid 分组统计数量
-        Map<String, Long> gidCountMap = shortLinkDOList.stream()
-                .collect(Collectors.groupingBy(ShortLinkDO::getGid, Collectors.counting()));
-        log.info("分组统计结果: {}", gidCountMap);
-        // 转换为响应DTO，确保所有gid都有返回值（即使数量为0）
-        List<ShortLinkGroupCountRespDTO> result = gidList.stream()
-                .map(gid -> ShortLinkGroupCountRespDTO.builder()
-                        .gid(gid)
-                        .shortLinkCount(gidCountMap.getOrDefault(gid, 0L).intValue())
-                        .build())
-                .collect(Collectors.toList());
-        log.info("最终返回结果: {}", result);
-        return result;
+        log.debug("查询分组短链接数量，分组数：{}", gidList.size());
+        // 一次 HMGET 读取维护好的分组数量，不再加载分组下的每一行
+        return shortLinkGroupCounter.count(gidList);
     }
 
     /**
-     * 短链接跳转（支持缓存+防击穿+防穿透）
+     * 短链接跳转（支持缓存+防击穿+防穿透），全程不阻塞请求线程
+     * 1. 本地缓存命中时同步返回；否则通过响应式 Redis 客户端查询，等待期间不占用 Tomcat 线程
+     * 2. 缓存未命中时，布隆过滤器检查和数据库回源在有界的回源调度器上执行
+     * 3. 返回跳转地址，由调用方直接写成 302 响应；访问事件异步发送，不等待发送结果
      * @param shortUri 短链接后缀
-     * @param request Http 请求
-     * @param response Http 响应
+     * @param request Http 请求，访问者信息在返回前读取完毕
+     * @return 跳转结果
      */
     @Override
-    public void restoreUrl(String shortUri, HttpServletRequest request, HttpServletResponse response) throws IOException {
-        // 1. 构建完整短链接
-        String serverName = request.getServerName();
-        int serverPort = request.getServerPort();
-        String fullShortUrl = serverName + ":" + serverPort + "/" + shortUri;
-
-        // 2. 风控：布隆过滤器检查（第一层防护 - 防止缓存穿透）
-        if (!shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl)) {
-            log.warn("布隆过滤器拦截 - 短链接不存在：{}", fullShortUrl);
-            response.sendRedirect(ShortLinkConstant.PAGE_NOT_FOUND);
-            return;
-        }
-
-        // 3. 检查是否命中空值缓存（第二层防护 - 防止布隆过滤器误判）
-        if (isCachedAsNull(fullShortUrl)) {
-            log.info("命中空值缓存：{}", fullShortUrl);
-            response.sendRedirect(ShortLinkConstant.PAGE_NOT_FOUND);
-            return;
-        }
-
-        // 4. 查询 Redis 正常缓存
-        ShortLinkDO cachedShortLink = getFromCache(fullShortUrl);
-        if (cachedShortLink != null) {
-            log.info("缓存命中：{}", fullShortUrl);
-            // 检查是否过期
-            if (cachedShortLink.getValidDate() != null && cachedShortLink.getValidDate().before(new Date())) {
-                log.warn("短链接已过期：{}, 过期时间：{}", fullShortUrl, cachedShortLink.getValidDate());
-                response.sendRedirect(ShortLinkConstant.PAGE_EXPIRED);
-                return;
-            }
-            // 异步更新访问统计
-            baseMapper.incrementClickNum(cachedShortLink.getGid(), fullShortUrl);
-
-            shortLinkStats(fullShortUrl, cachedShortLink.getGid(), request, response);
-
-            // 执行重定向
-            response.sendRedirect(cachedShortLink.getOriginUrl());
-            log.info("短链接跳转成功（缓存）：{} -> {}", fullShortUrl, cachedShortLink.getOriginUrl());
-            return;
-        }
-
-        // 5. 缓存未命中，使用分布式锁防止缓存击穿
-        String lockKey = RedisKeyConstant.getLockKey(fullShortUrl);
-        RLock lock = redissonClient.getLock(lockKey);
-        
-        try {
-            // 尝试获取锁（等待3秒，持有10秒）
-            if (lock.tryLock(3, 10, TimeUnit.SECONDS)) {
-                try {
-                    log.debug("获取分布式锁成功：{}", fullShortUrl);
-                    
-                    // 6. Double Check：空值缓存
-                    if (isCachedAsNull(fullShortUrl)) {
-                        log.info("Double Check 命中空值缓存");
-                        response.sendRedirect(ShortLinkConstant.PAGE_NOT_FOUND);
-                        return;
+    public Mono<ShortLinkRedirectDTO> restoreUrl(String shortUri, HttpServletRequest request) {
+        // 1. 构建完整短链接，读取统计需要的访问者信息（异步阶段不再访问 request）
+        String fullShortUrl = LinkUtil.buildFullShortUrl(request.getServerName(), request.getServerPort(), shortUri);
+        String remoteAddr = LinkUtil.getActualIp(request);
+        String userAgent = request.getHeader("User-Agent");
+        String referer = request.getHeader("Referer");
+        String existingUv = getUvCookie(request);
+
+        // 2. 查询缓存（本地缓存 + Redis），一次 GET 同时判断正常值和空值
+        return shortLinkCacheManager.getAsync(fullShortUrl)
+                .flatMap(cacheResult -> {
+                    if (cacheResult.isNullHit()) {
+                        REDIRECT_LOG.info("命中空值缓存：{}", fullShortUrl);
+                        return Mono.just(ShortLinkRedirectDTO.NOT_FOUND);
                     }
-                    
-                    // 7. Double Check：正常缓存（可能其他线程已写入）
-                    cachedShortLink = getFromCache(fullShortUrl);
-                    if (cachedShortLink != null) {
-                        log.info("Double Check 缓存命中：{}", fullShortUrl);
-                        // 检查是否过期
-                        if (cachedShortLink.getValidDate() != null && cachedShortLink.getValidDate().before(new Date())) {
-                            log.warn("短链接已过期：{}", fullShortUrl);
-                            response.sendRedirect(ShortLinkConstant.PAGE_EXPIRED);
-                            return;
+                    if (cacheResult.isHit()) {
+                        log.debug("缓存命中：{}", fullShortUrl);
+                        // 已软过期：继续使用旧值跳转，后台刷新一次
+                        if (cacheResult.isRefreshNeeded()) {
+                            shortLinkCacheLoader.refreshAsync(fullShortUrl, () -> queryFromDatabase(fullShortUrl));
                         }
-                        baseMapper.incrementClickNum(cachedShortLink.getGid(), fullShortUrl);
-                        shortLinkStats(fullShortUrl, cachedShortLink.getGid(), request, response);
-                        response.sendRedirect(cachedShortLink.getOriginUrl());
-                        return;
-                    }
-                    
-                    // 8. 查询数据库
-                    log.info("缓存未命中，查询数据库：{}", fullShortUrl);
-                    ShortLinkDO shortLinkDO = queryFromDatabase(fullShortUrl);
-                    
-                    if (shortLinkDO == null) {
-                        log.warn("数据库中未找到短链接：{}", fullShortUrl);
-                        // 先缓存空值（防止布隆过滤器误判导致的重复查询）
-                        stringRedisTemplate.opsForValue().set(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                        // 再重定向
-                        response.sendRedirect(ShortLinkConstant.PAGE_NOT_FOUND);
-                        return;
+                        return Mono.just(redirect(fullShortUrl, cacheResult.getShortLink(), remoteAddr, userAgent, referer, existingUv, "缓存"));
                     }
-                    
-                    // 9. 检查是否过期
-                    if (shortLinkDO.getValidDate() != null && shortLinkDO.getValidDate().before(new Date())) {
-                        log.warn("短链接已过期：{}, 过期时间：{}", fullShortUrl, shortLinkDO.getValidDate());
-                        response.sendRedirect(ShortLinkConstant.PAGE_EXPIRED);
-                        return;
-                    }
-                    
-                    // 10. 写入缓存（1小时）
-                    setToCache(fullShortUrl, shortLinkDO);
-                    
-                    // 11. 更新访问统计
-                    baseMapper.incrementClickNum(shortLinkDO.getGid(), fullShortUrl);
-                    shortLinkStats(fullShortUrl, shortLinkDO.getGid(),request, response);
-                    
-                    // 12. 执行重定向
-                    response.sendRedirect(shortLinkDO.getOriginUrl());
-                    log.info("短链接跳转成功（数据库）：{} -> {}", fullShortUrl, shortLinkDO.getOriginUrl());
-                    
-                } finally {
-                    lock.unlock();
-                    log.debug("释放分布式锁：{}", fullShortUrl);
-                }
-            } else {
-                // 获取锁超时 - 降级处理
-                log.warn("获取分布式锁超时，降级查询：{}", fullShortUrl);
-                ShortLinkDO shortLinkDO = queryFromDatabase(fullShortUrl);
-                
-                if (shortLinkDO == null) {
-                    stringRedisTemplate.opsForValue().set(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                    response.sendRedirect(ShortLinkConstant.PAGE_NOT_FOUND);
-                } else if (shortLinkDO.getValidDate() != null && 
-                           shortLinkDO.getValidDate().before(new Date())) {
-                    // 已过期
-                    response.sendRedirect(ShortLinkConstant.PAGE_EXPIRED);
-                } else {
-                    // 正常跳转
-                    baseMapper.incrementClickNum(shortLinkDO.getGid(), fullShortUrl);
-                    shortLinkStats(fullShortUrl, shortLinkDO.getGid(), request, response);
-                    response.sendRedirect(shortLinkDO.getOriginUrl());
-                }
-            }
-        } catch (InterruptedException e) {
-            log.error("获取分布式锁被中断：{}", fullShortUrl, e);
-            Thread.currentThread().interrupt();
-            response.sendRedirect(ShortLinkConstant.PAGE_ERROR);
+                    // 3. 缓存未命中：布隆过滤器检查（防止缓存穿透），通过后回源加载，同一短链接的并发未命中共用一次数据库查询
+                    return shortLinkCacheLoader.loadAsync(fullShortUrl, () -> {
+                        boolean mightExist = shortLinkBloomFilter.contains(fullShortUrl);
+                        if (!mightExist) {
+                            REDIRECT_LOG.warn("布隆过滤器拦截 - 短链接不存在：{}", fullShortUrl);
+                        }
+                        return mightExist;
+                    }, () -> queryFromDatabase(fullShortUrl)).map(loadResult -> {
+                        if (loadResult.isNullHit()) {
+                            REDIRECT_LOG.warn("未找到短链接：{}", fullShortUrl);
+                            return ShortLinkRedirectDTO.NOT_FOUND;
+                        }
+                        return redirect(fullShortUrl, loadResult.getShortLink(), remoteAddr, userAgent, referer, existingUv, "回源");
+                    });
+                })
+                .onErrorResume(e -> {
+                    log.error("回源查询短链接失败：{}", fullShortUrl, e);
+                    return Mono.just(ShortLinkRedirectDTO.ERROR);
+                });
+    }
+
+    /**
+     * 校验有效期后跳转到原始链接，并异步记录访问统计
+     * @param source 命中来源，仅用于日志
+     */
+    private ShortLinkRedirectDTO redirect(String fullShortUrl, ShortLinkDO shortLinkDO, String remoteAddr,
+                                          String userAgent, String referer, String existingUv, String source) {
+        // 检查是否过期
+        long now = System.currentTimeMillis();
+        if (shortLinkDO.getValidDate() != null && shortLinkDO.getValidDate().getTime() < now) {
+            REDIRECT_LOG.warn("短链接已过期：{}, 过期时间：{}", fullShortUrl, shortLinkDO.getValidDate());
+            return ShortLinkRedirectDTO.EXPIRED;
         }
+        // 首次访问生成访客标识，由调用方随跳转响应写入 Cookie，有效期 30 天
+        String uv = existingUv != null ? existingUv : UUID.fastUUID().toString(true);
+        shortLinkStats(ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl(fullShortUrl)
+                .gid(shortLinkDO.getGid())
+                .accessTime(now)
+                .remoteAddr(remoteAddr)
+                .userAgent(userAgent)
+                .referer(referer)
+                .uv(uv)
+                .build());
+        log.debug("短链接跳转成功（{}）：{} -> {}", source, fullShortUrl, shortLinkDO.getOriginUrl());
+        return new ShortLinkRedirectDTO(shortLinkDO.getOriginUrl(), existingUv == null ? uv : null);
     }
 
     /**
      * 短链接统计
-     * @param fullShortUrl 完整短链接，用来标识是哪一个短链接被访问
-     * @param gid 分组标识，分库分表的分片键
-     * @param request 获取访问者信息
-     * @param response 设置Cookie（用于UV去重）
+     * 只向 Redis Stream 非阻塞地写入一条访问事件，不等待结果，统计入库由 ShortLinkStatsSaveConsumer 异步完成；
+     * Stream 未开启或写入失败时降级为在本机内存中合并统计，降级处理包含阻塞的 Redis 调用，切换到弹性线程执行
+     * @param statsRecord 访问事件
      */
-    private void shortLinkStats(String fullShortUrl, String gid, HttpServletRequest request, HttpServletResponse response) {
-       try {
-
-           // 获取当前小时数（24小时制） new  Date() 表示当前时间
-           int hour = DateUtil.hour(new Date(), true);
-           // 获取当前是星期几
-           Week week = DateUtil.dayOfWeekEnum(new Date());
-           // 将星期转化为数值， 例如 周日-1
-           int weekValue = week.getValue();
-
-           LinkAccessStatsDO linkAccessStatsDO = LinkAccessStatsDO.builder()
-                   .pv(1)
-                   .uv(null)
-                   .uip(null)
-                   .hour(hour)
-                   .weekday(weekValue)
-                   .fullShortUrl(fullShortUrl)
-                   .gid(gid)
-                   .date(new Date())
-                   .build();
-
-           linkAccessStatsMapper.shortLinkStats(linkAccessStatsDO);
-       } catch (Exception e) {
-           log.error("短链接统计异常");
-       }
+    private void shortLinkStats(ShortLinkStatsRecordDTO statsRecord) {
+        shortLinkStatsSaveProducer.sendAsync(statsRecord)
+                .filter(sent -> !sent)
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        notSent -> shortLinkStatsProcessor.process(Collections.singletonList(statsRecord)),
+                        e -> log.error("短链接统计异常", e)
+                );
     }
+
+    /**
+     * 获取访客标识 Cookie
+     * @param request 请求
+     * @return 访客标识，首次访问时为 null
+     */
+    private String getUvCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ShortLinkConstant.UV_COOKIE_NAME.equals(cookie.getName()) && StrUtil.isNotBlank(cookie.getValue())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * 修改短链接
      * @param requestParam  修改短链接请求参数
@@ -435,6 +458,7 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .clickNum(hasShortLinkDO.getClickNum())
                 .favicon(hasShortLinkDO.getFavicon())
                 .createdType(hasShortLinkDO.getCreatedType())
+                .enableStatus(hasShortLinkDO.getEnableStatus())
                 .gid(requestParam.getGid())
                 .originUrl(requestParam.getOriginUrl())
                 .describe(requestParam.getDescribe())
@@ -455,8 +479,8 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 throw new ServiceException("更新短链接失败");
             }
             
-            // 更新成功后，刷新缓存
-            setToCache(requestParam.getFullShortUrl(), shortLinkDO);
+            // 更新成功后，刷新缓存，并通知所有节点清除本地缓存
+            shortLinkCacheManager.refresh(requestParam.getFullShortUrl(), shortLinkDO);
             log.debug("短链接修改成功，已更新缓存：{}", requestParam.getFullShortUrl());
         } else {
             // gid已经变化，删除旧记录，插入新记录
@@ -476,7 +500,14 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
             }
             
             // gid变化后，也要更新缓存
-            setToCache(requestParam.getFullShortUrl(), shortLinkDO);
+            shortLinkCacheManager.refresh(requestParam.getFullShortUrl(), shortLinkDO);
+            // 事务提交后把数量从原分组移到新分组
+            if (Objects.equals(hasShortLinkDO.getEnableStatus(), 1)) {
+                Map<String, Long> deltas = new HashMap<>();
+                deltas.put(requestParam.getOriginalGid(), -1L);
+                deltas.put(requestParam.getGid(), 1L);
+                shortLinkGroupCounter.incrementAll(deltas);
+            }
             log.debug("短链接修改成功（gid变化），已更新缓存：{}", requestParam.getFullShortUrl());
         }
         log.info("修改短链接成功，id: {}", requestParam.getId());
@@ -485,121 +516,81 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 
 
     /**
-     * 生成短链接
-     * @param requestParam 请求参数
-     * @return 返回短链接
+     * 计算短链接有效期：永久有效时设置为 MySQL 支持的最大日期 9999-12-31 23:59:59
+     * @param requestParam 创建短链接请求参数
+     * @return 有效期
      */
-    private String generateSuffix(ShortLinkCreateReqDTO requestParam){
-        // 统计尝试次数，最多尝试10次
-        int customGenerateCount = 0;
-        String shortUri;
-        while(true){
-            if(customGenerateCount > 10){
-                throw new ServiceException("短链接频繁生成， 请稍后再试");
-            }
-            String originUrl = requestParam.getOriginUrl();
-            // 增加当前毫秒数的拼接，避免冲突
-            originUrl += UUID.randomUUID().toString();
-            // 下面这个短链接生成存在一定的冲突，上面增加毫秒就是为了尽量避免冲突
-            shortUri = HashUtil.hashToBase62(originUrl);
-            if(! shortUriCreateCachePenetrationBloomFilter.contains(requestParam.getDomain() + "/" + shortUri)){
-                break;
-            }
-            customGenerateCount ++;
+    private Date resolveValidDate(ShortLinkCreateReqDTO requestParam) {
+        if (requestParam.getValidDateType() != null &&
+            requestParam.getValidDateType() == ValidDateTypeEnum.PERMANENT.getType()) {
+            return new Date(253402271999000L);
         }
-        return shortUri;
-
+        // 自定义有效期：使用传入的日期
+        return requestParam.getValidDate();
     }
 
-    // ==================== 缓存相关辅助方法 ====================
-
     /**
-     * 从 Redis 缓存查询短链接
-     * @param fullShortUrl 完整短链接
-     * @return 短链接对象，不存在返回 null
+     * 校验批量创建中的单条请求
+     * @param requestParam 创建短链接请求参数
+     * @return 错误信息，校验通过返回 null
      */
-    private ShortLinkDO getFromCache(String fullShortUrl) {
+    private String validateBatchCreateItem(ShortLinkCreateReqDTO requestParam) {
+        if (requestParam == null) {
+            return "请求参数不能为空";
+        }
+        if (StrUtil.isBlank(requestParam.getDomain())) {
+            return "域名不能为空";
+        }
+        if (StrUtil.isBlank(requestParam.getGid())) {
+            return "分组标识不能为空";
+        }
+        if (StrUtil.isBlank(requestParam.getOriginUrl())) {
+            return "原始链接不能为空";
+        }
         try {
-            String cacheKey = RedisKeyConstant.getShortLinkCacheKey(fullShortUrl);
-            String cachedJson = stringRedisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedJson != null && !cachedJson.isEmpty() && !"null".equals(cachedJson)) {
-                // 正常的JSON数据
-                return JSON.parseObject(cachedJson, ShortLinkDO.class);
-            }
-        } catch (Exception e) {
-            log.error("从缓存读取短链接失败：{}", fullShortUrl, e);
+            URLUtil.url(requestParam.getOriginUrl());
+        } catch (Exception ex) {
+            return "原始链接格式错误";
         }
         return null;
     }
-    
-    /**
-     * 将短链接写入 Redis 缓存
-     * @param fullShortUrl 完整短链接
-     * @param shortLinkDO 短链接对象
-     */
-    private void setToCache(String fullShortUrl, ShortLinkDO shortLinkDO) {
-        try {
-            String cacheKey = RedisKeyConstant.getShortLinkCacheKey(fullShortUrl);
-            String jsonValue = JSON.toJSONString(shortLinkDO);
-            
-            // 使用 LinkUtil 计算动态缓存有效期
-            long cacheValidTime = com.nageoffer.shorlink.project.toolkit.LinkUtil.getLinkCacheValidDate(shortLinkDO.getValidDate());
-            
-            // 设置缓存，TTL = 动态计算的有效期
-            stringRedisTemplate.opsForValue().set(cacheKey, jsonValue, cacheValidTime, TimeUnit.MILLISECONDS);
-            log.debug("写入缓存成功：{}，TTL={}ms", fullShortUrl, cacheValidTime);
-        } catch (Exception e) {
-            log.error("写入缓存失败：{}", fullShortUrl, e);
-        }
+
+    private ShortLinkBatchCreateItemRespDTO buildBatchCreateFailure(int index, ShortLinkCreateReqDTO requestParam, String message) {
+        return ShortLinkBatchCreateItemRespDTO.builder()
+                .index(index)
+                .success(false)
+                .gid(requestParam == null ? null : requestParam.getGid())
+                .originUrl(requestParam == null ? null : requestParam.getOriginUrl())
+                .message(message)
+                .build();
     }
-    
+
+    // ==================== 缓存相关辅助方法 ====================
+
     /**
      * 从数据库查询短链接（抽取的公共方法）
      * @param fullShortUrl 完整短链接
      * @return 短链接对象，不存在返回 null
      */
     private ShortLinkDO queryFromDatabase(String fullShortUrl) {
-        try {
-            // 1. 查询路由表获取 gid
-            LambdaQueryWrapper<ShortLinkGotoDO> gotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
-                    .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
-            ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(gotoQueryWrapper);
-            
-            if (shortLinkGotoDO == null) {
-                log.warn("路由表中未找到短链接：{}", fullShortUrl);
-                return null;
-            }
-            
-            // 2. 根据 gid 查询短链接详情（自动路由到对应分片）
-            LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
-                    .eq(ShortLinkDO::getGid, shortLinkGotoDO.getGid())
-                    .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
-                    .eq(ShortLinkDO::getEnableStatus, 1)
-                    .eq(ShortLinkDO::getDelFlag, 0);
-            
-            return baseMapper.selectOne(queryWrapper);
-        } catch (Exception e) {
-            log.error("数据库查询短链接失败：{}", fullShortUrl, e);
+        // 查询异常直接抛出，由回源加载放弃写入空值缓存，避免数据库抖动时把存在的短链接缓存为不存在
+        // 1. 查询路由表获取 gid
+        LambdaQueryWrapper<ShortLinkGotoDO> gotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
+        ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(gotoQueryWrapper);
+        
+        if (shortLinkGotoDO == null) {
+            log.warn("路由表中未找到短链接：{}", fullShortUrl);
             return null;
         }
-    }
-
-
-    
-    /**
-     * 判断是否缓存了空值
-     * @param fullShortUrl 完整短链接
-     * @return true-命中空值缓存，false-未命中
-     */
-    private boolean isCachedAsNull(String fullShortUrl) {
-        try {
-            String cacheKey = RedisKeyConstant.getShortLinkCacheKey(fullShortUrl);
-            String value = stringRedisTemplate.opsForValue().get(cacheKey);
-            return "null".equals(value);
-        } catch (Exception e) {
-            log.error("检查空值缓存失败：{}", fullShortUrl, e);
-            return false;
-        }
+        
+        // 2. 根据 gid 查询短链接详情（自动路由到对应分片）
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                .eq(ShortLinkDO::getGid, shortLinkGotoDO.getGid())
+                .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+                .eq(ShortLinkDO::getEnableStatus, 1)
+                .eq(ShortLinkDO::getDelFlag, 0);
+        
+        return baseMapper.selectOne(queryWrapper);
     }
 }
@@ -0,0 +1,284 @@
+package com.nageoffer.shorlink.project.stats;
+
+import com.nageoffer.shorlink.project.dao.entity.LinkAccessStatsDO;
+import com.nageoffer.shorlink.project.dao.mapper.LinkAccessStatsMapper;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.nageoffer.shorlink.project.toolkit.HourBucket;
+import com.nageoffer.shorlink.project.toolkit.VirtualThreadUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * 功能描述: 短链接基础访问监控缓冲区
+ * </p>
+ * 跳转请求只在内存中按 (fullShortUrl, gid, date, hour) 合并 pv、uv、uip 增量，
+ * 由后台线程定时或达到阈值时批量写入 t_link_access_stats：
+ * 1. 缓冲的 Key 数量达到 flush-threshold 时提前触发异步刷盘
+ * 2. 达到 max-pending 时由调用线程同步刷盘（背压），保证内存有界
+ * 3. 应用优雅停机时会把缓冲区全部刷入数据库
+ * Stream 消费者需要在 ACK 前确认数据已落库，通过 writeThrough 不经缓冲区直接写入
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LinkAccessStatsBuffer {
+
+    private final LinkAccessStatsMapper linkAccessStatsMapper;
+
+    /**
+     * 定时刷盘间隔（毫秒）
+     */
+    @Value("${short-link.stats.buffer.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    /**
+     * 触发提前刷盘的缓冲 Key 数量
+     */
+    @Value("${short-link.stats.buffer.flush-threshold:2000}")
+    private int flushThreshold;
+
+    /**
+     * 缓冲 Key 数量上限，超过后调用线程同步刷盘
+     */
+    @Value("${short-link.stats.buffer.max-pending:20000}")
+    private int maxPending;
+
+    /**
+     * 单条 INSERT 最多写入的行数
+     */
+    @Value("${short-link.stats.buffer.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 是否使用虚拟线程执行统计刷盘（JDK 21 及以上生效）
+     */
+    @Value("${short-link.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    private final Map<StatsKey, StatsDelta> buffer = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void init() {
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(VirtualThreadUtil.newThreadFactory("short-link-stats-flush", virtualThreadsEnabled));
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("短链接监控刷盘线程未在10秒内结束");
+        }
+        // 停机前把剩余的监控数据全部写入数据库
+        flush();
+        log.info("短链接监控缓冲区已清空");
+    }
+
+    /**
+     * 记录一次访问
+     * @param fullShortUrl 完整短链接
+     * @param gid 分组标识
+     * @param accessTime 访问时间
+     * @param pv 访问量增量
+     * @param uv 独立访客增量
+     * @param uip 独立IP增量
+     */
+    public void record(String fullShortUrl, String gid, Date accessTime, int pv, int uv, int uip) {
+        record(fullShortUrl, gid, accessTime.getTime(), pv, uv, uip);
+    }
+
+    /**
+     * 记录一次访问，日期和小时取自缓存的小时时间桶，同一小时内不再重复计算
+     * @param fullShortUrl 完整短链接
+     * @param gid 分组标识
+     * @param accessTime 访问时间戳（毫秒）
+     * @param pv 访问量增量
+     * @param uv 独立访客增量
+     * @param uip 独立IP增量
+     */
+    public void record(String fullShortUrl, String gid, long accessTime, int pv, int uv, int uip) {
+        HourBucket hourBucket = HourBucket.of(accessTime);
+        StatsKey statsKey = new StatsKey(fullShortUrl, gid, hourBucket.getDayStart(), hourBucket.getHour());
+        buffer.compute(statsKey, (key, delta) -> {
+            if (delta == null) {
+                delta = new StatsDelta();
+            }
+            delta.pv += pv;
+            delta.uv += uv;
+            delta.uip += uip;
+            return delta;
+        });
+        int pending = buffer.size();
+        if (pending >= maxPending) {
+            // 背压：缓冲区已满，由调用线程同步刷盘
+            flush();
+        } else if (pending >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException ignored) {
+                // 停机中，剩余数据由 destroy 统一刷盘
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 将缓冲区数据批量写入数据库
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<LinkAccessStatsDO> batch = new ArrayList<>(batchSize);
+            for (StatsKey statsKey : buffer.keySet()) {
+                // remove 与 record 中的 compute 互斥，取出后的增量不会再被修改
+                StatsDelta delta = buffer.remove(statsKey);
+                if (delta == null) {
+                    continue;
+                }
+                batch.add(delta.toStatsDO(statsKey));
+                if (batch.size() >= batchSize) {
+                    persist(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                persist(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 不经过缓冲区，把一批访问事件按 (fullShortUrl, gid, date, hour) 合并后直接写入数据库，写入失败直接抛出异常
+     * @param records 访问事件列表
+     */
+    public void writeThrough(List<ShortLinkStatsRecordDTO> records) {
+        Map<StatsKey, StatsDelta> deltas = new LinkedHashMap<>();
+        for (ShortLinkStatsRecordDTO record : records) {
+            HourBucket hourBucket = HourBucket.of(record.getAccessTime());
+            deltas.computeIfAbsent(
+                    new StatsKey(record.getFullShortUrl(), record.getGid(), hourBucket.getDayStart(), hourBucket.getHour()),
+                    key -> new StatsDelta()
+            ).pv++;
+        }
+        List<LinkAccessStatsDO> batch = new ArrayList<>(Math.min(deltas.size(), batchSize));
+        for (Map.Entry<StatsKey, StatsDelta> entry : deltas.entrySet()) {
+            batch.add(entry.getValue().toStatsDO(entry.getKey()));
+            if (batch.size() >= batchSize) {
+                linkAccessStatsMapper.shortLinkStatsBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            linkAccessStatsMapper.shortLinkStatsBatch(batch);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("短链接监控刷盘异常", e);
+        }
+    }
+
+    private void persist(List<LinkAccessStatsDO> batch) {
+        try {
+            linkAccessStatsMapper.shortLinkStatsBatch(batch);
+        } catch (Exception e) {
+            if (buffer.size() + batch.size() > maxPending) {
+                log.error("短链接监控批量写入失败，缓冲区已满，丢弃 {} 条监控数据", batch.size(), e);
+                return;
+            }
+            log.error("短链接监控批量写入失败，{} 条监控数据放回缓冲区等待重试", batch.size(), e);
+            batch.forEach(each -> buffer.merge(
+                    new StatsKey(each.getFullShortUrl(), each.getGid(), each.getDate().getTime(), each.getHour()),
+                    StatsDelta.of(each),
+                    StatsDelta::add
+            ));
+        }
+    }
+
+    /**
+     * 合并维度：完整短链接 + 分组标识 + 日期（当天零点毫秒值） + 小时
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class StatsKey {
+
+        private final String fullShortUrl;
+        private final String gid;
+        private final long date;
+        private final int hour;
+    }
+
+    /**
+     * 合并后的增量，只在 ConcurrentHashMap 的 compute / merge 中修改
+     */
+    private static class StatsDelta {
+
+        private int pv;
+        private int uv;
+        private int uip;
+
+        private static StatsDelta of(LinkAccessStatsDO statsDO) {
+            StatsDelta delta = new StatsDelta();
+            delta.pv = statsDO.getPv();
+            delta.uv = statsDO.getUv();
+            delta.uip = statsDO.getUip();
+            return delta;
+        }
+
+        private StatsDelta add(StatsDelta other) {
+            pv += other.pv;
+            uv += other.uv;
+            uip += other.uip;
+            return this;
+        }
+
+        private LinkAccessStatsDO toStatsDO(StatsKey statsKey) {
+            return LinkAccessStatsDO.builder()
+                    .fullShortUrl(statsKey.getFullShortUrl())
+                    .gid(statsKey.getGid())
+                    .date(new Date(statsKey.getDate()))
+                    .hour(statsKey.getHour())
+                    .weekday(HourBucket.of(statsKey.getDate()).getWeekday())
+                    .pv(pv)
+                    .uv(uv)
+                    .uip(uip)
+                    .build();
+        }
+    }
+}
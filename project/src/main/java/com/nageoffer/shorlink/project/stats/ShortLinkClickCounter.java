@@ -0,0 +1,247 @@
+package com.nageoffer.shorlink.project.stats;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.dao.mapper.ShortLinkMapper;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.nageoffer.shorlink.project.toolkit.VirtualThreadUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * 功能描述: 短链接点击次数合并计数器
+ * </p>
+ * 跳转请求只对内存中该短链接的 LongAdder 加一，不再每次点击执行一条
+ * UPDATE t_link SET click_num = click_num + 1：
+ * 1. 后台线程定时取出各短链接的点击增量，按 gid（分片键）分组，每组一条 UPDATE 批量累加
+ * 2. 连续一个周期没有点击的短链接会从计数表中移除，内存占用只与活跃短链接数量相关；
+ *    累加与移除都在 ConcurrentHashMap 的 compute 中完成，不会有点击落在已移除的计数器上
+ * 3. 写库失败的增量放回计数器等待下次重试，应用优雅停机时全部刷入数据库
+ * 4. 可选在刷盘时把增量 INCRBY 到 Redis，供需要近实时点击量的场景读取
+ * Stream 消费者需要在 ACK 前确认数据已落库，通过 writeThrough 不经计数器直接写入
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkClickCounter {
+
+    private final ShortLinkMapper shortLinkMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 定时刷盘间隔（毫秒）
+     */
+    @Value("${short-link.stats.click.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    /**
+     * 单条 UPDATE 最多累加的短链接数量
+     */
+    @Value("${short-link.stats.click.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 是否在刷盘时同步把点击增量写入 Redis
+     */
+    @Value("${short-link.stats.click.redis-mirror:false}")
+    private boolean redisMirror;
+
+    /**
+     * 是否使用虚拟线程执行点击次数刷盘（JDK 21 及以上生效）
+     */
+    @Value("${short-link.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    private final Map<ClickKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void init() {
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(VirtualThreadUtil.newThreadFactory("short-link-click-flush", virtualThreadsEnabled));
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("短链接点击量刷盘线程未在10秒内结束");
+        }
+        // 停机前把剩余的点击增量全部写入数据库
+        flush();
+        log.info("短链接点击计数器已清空");
+    }
+
+    /**
+     * 记录一次点击
+     * @param gid 分组标识
+     * @param fullShortUrl 完整短链接
+     */
+    public void increment(String gid, String fullShortUrl) {
+        add(new ClickKey(gid, fullShortUrl), 1);
+    }
+
+    /**
+     * 将累计的点击增量按 gid 分组批量写入数据库
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<String, List<ShortLinkDO>> gidClicks = new HashMap<>();
+            for (Map.Entry<ClickKey, LongAdder> entry : counters.entrySet()) {
+                ClickKey clickKey = entry.getKey();
+                LongAdder adder = entry.getValue();
+                long delta = adder.sumThenReset();
+                if (delta == 0) {
+                    // 一个周期无点击，移除计数器；与 increment 的 compute 互斥，期间有新点击时保留
+                    counters.computeIfPresent(clickKey, (key, current) -> current == adder && current.sum() == 0 ? null : current);
+                    continue;
+                }
+                if (delta > Integer.MAX_VALUE) {
+                    // 单次 UPDATE 的增量不超过 int 上限，剩余部分留到下个周期
+                    add(clickKey, delta - Integer.MAX_VALUE);
+                    delta = Integer.MAX_VALUE;
+                }
+                gidClicks.computeIfAbsent(clickKey.getGid(), key -> new ArrayList<>())
+                        .add(ShortLinkDO.builder()
+                                .gid(clickKey.getGid())
+                                .fullShortUrl(clickKey.getFullShortUrl())
+                                .clickNum((int) delta)
+                                .build());
+            }
+            gidClicks.forEach((gid, clickList) -> {
+                for (int i = 0; i < clickList.size(); i += batchSize) {
+                    persist(gid, clickList.subList(i, Math.min(i + batchSize, clickList.size())));
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 不经过计数器，把一批访问事件的点击次数按 gid 分组后直接写入数据库，写入失败直接抛出异常
+     * 在事务中调用时，Redis 镜像延迟到事务提交后执行
+     * @param records 访问事件列表
+     */
+    public void writeThrough(List<ShortLinkStatsRecordDTO> records) {
+        Map<ClickKey, Integer> deltas = new LinkedHashMap<>();
+        records.forEach(each -> deltas.merge(new ClickKey(each.getGid(), each.getFullShortUrl()), 1, Integer::sum));
+        Map<String, List<ShortLinkDO>> gidClicks = new HashMap<>();
+        deltas.forEach((clickKey, delta) -> gidClicks.computeIfAbsent(clickKey.getGid(), key -> new ArrayList<>())
+                .add(ShortLinkDO.builder()
+                        .gid(clickKey.getGid())
+                        .fullShortUrl(clickKey.getFullShortUrl())
+                        .clickNum(delta)
+                        .build()));
+        List<ShortLinkDO> written = new ArrayList<>(deltas.size());
+        gidClicks.forEach((gid, clickList) -> {
+            for (int i = 0; i < clickList.size(); i += batchSize) {
+                List<ShortLinkDO> batch = clickList.subList(i, Math.min(i + batchSize, clickList.size()));
+                shortLinkMapper.incrementClickNumBatch(gid, batch);
+                written.addAll(batch);
+            }
+        });
+        if (!redisMirror || written.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mirrorToRedis(written);
+                }
+            });
+        } else {
+            mirrorToRedis(written);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("短链接点击量刷盘异常", e);
+        }
+    }
+
+    private void persist(String gid, List<ShortLinkDO> clickList) {
+        try {
+            shortLinkMapper.incrementClickNumBatch(gid, clickList);
+        } catch (Exception e) {
+            log.error("短链接点击量批量写入失败，gid={}，{} 条增量放回计数器等待重试", gid, clickList.size(), e);
+            clickList.forEach(each -> add(new ClickKey(gid, each.getFullShortUrl()), each.getClickNum()));
+            return;
+        }
+        if (redisMirror) {
+            mirrorToRedis(clickList);
+        }
+    }
+
+    /**
+     * 在 compute 中累加，与 flush 中移除计数器互斥
+     */
+    private void add(ClickKey clickKey, long delta) {
+        counters.compute(clickKey, (key, adder) -> {
+            if (adder == null) {
+                adder = new LongAdder();
+            }
+            adder.add(delta);
+            return adder;
+        });
+    }
+
+    private void mirrorToRedis(List<ShortLinkDO> clickList) {
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+                clickList.forEach(each -> stringRedisConnection.incrBy(RedisKeyConstant.getClickNumKey(each.getFullShortUrl()), each.getClickNum()));
+                return null;
+            });
+        } catch (Exception e) {
+            // Redis 镜像只用于近实时展示，失败不影响数据库中的点击量
+            log.warn("短链接点击量同步 Redis 失败，{} 条", clickList.size(), e);
+        }
+    }
+
+    /**
+     * 计数维度：分组标识 + 完整短链接
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ClickKey {
+
+        private final String gid;
+        private final String fullShortUrl;
+    }
+}
@@ -0,0 +1,168 @@
+package com.nageoffer.shorlink.project.stats;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dao.mapper.ShortLinkMapper;
+import com.nageoffer.shorlink.project.dto.resp.ShortLinkGroupCountRespDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * 功能描述: 分组短链接数量计数器，维护 Redis Hash（short_link:group:count）中各分组已启用且未删除的短链接数量
+ * </p>
+ * 1. 创建、移入回收站、恢复、修改分组时增量更新；处于事务中时在提交后才更新，回滚不会计数
+ * 2. 只累加已存在的字段：未初始化的分组在首次查询时按数据库 GROUP BY 统计后写入（HSETNX），
+ *    避免从 0 开始累加得到错误的数量
+ * 3. 更新失败或并发窗口造成的偏差由 ShortLinkGroupCountReconcileJob 定期校正
+ * 从回收站删除的短链接已是未启用状态，不影响计数
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGroupCounter {
+
+    /**
+     * 字段存在时才 HINCRBY，ARGV 依次为 gid、增量
+     */
+    private static final DefaultRedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #ARGV, 2 do " +
+                    "if redis.call('HEXISTS', KEYS[1], ARGV[i]) == 1 then " +
+                    "redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1]) " +
+                    "end " +
+                    "end " +
+                    "return 0",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkMapper shortLinkMapper;
+
+    /**
+     * 累加单个分组的短链接数量
+     * @param gid 分组标识
+     * @param delta 增量，可为负数
+     */
+    public void increment(String gid, long delta) {
+        incrementAll(Collections.singletonMap(gid, delta));
+    }
+
+    /**
+     * 累加多个分组的短链接数量，一次脚本调用完成
+     * @param deltas 分组标识 -> 增量
+     */
+    public void incrementAll(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> {
+            List<Object> args = new ArrayList<>(deltas.size() * 2);
+            deltas.forEach((gid, delta) -> {
+                if (delta != 0) {
+                    args.add(gid);
+                    args.add(String.valueOf(delta));
+                }
+            });
+            if (args.isEmpty()) {
+                return;
+            }
+            try {
+                stringRedisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT,
+                        Collections.singletonList(RedisKeyConstant.SHORT_LINK_GROUP_COUNT_KEY), args.toArray());
+            } catch (Exception e) {
+                log.error("更新分组短链接数量失败，等待定时校正：{}", deltas, e);
+            }
+        });
+    }
+
+    /**
+     * 一次 HMGET 查询多个分组的短链接数量，未初始化的分组按数据库统计后写入
+     * @param gidList 分组标识列表
+     * @return 分组数量列表，顺序与参数一致
+     */
+    public List<ShortLinkGroupCountRespDTO> count(List<String> gidList) {
+        List<Object> fields = new ArrayList<>(gidList);
+        List<Object> cachedCounts;
+        try {
+            cachedCounts = stringRedisTemplate.opsForHash().multiGet(RedisKeyConstant.SHORT_LINK_GROUP_COUNT_KEY, fields);
+        } catch (Exception e) {
+            log.error("读取分组短链接数量失败，回退数据库统计", e);
+            cachedCounts = Collections.nCopies(gidList.size(), null);
+        }
+
+        Map<String, Integer> counts = new HashMap<>(gidList.size() * 2);
+        List<String> missingGids = new ArrayList<>();
+        for (int i = 0; i < gidList.size(); i++) {
+            Object cachedCount = cachedCounts.get(i);
+            if (cachedCount == null) {
+                missingGids.add(gidList.get(i));
+            } else {
+                counts.put(gidList.get(i), Integer.parseInt(cachedCount.toString()));
+            }
+        }
+        if (!missingGids.isEmpty()) {
+            Map<String, Integer> loadedCounts = loadFromDatabase(missingGids);
+            counts.putAll(loadedCounts);
+            try {
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+                    loadedCounts.forEach((gid, count) -> stringRedisConnection.hSetNX(RedisKeyConstant.SHORT_LINK_GROUP_COUNT_KEY, gid, String.valueOf(count)));
+                    return null;
+                });
+            } catch (Exception e) {
+                log.error("初始化分组短链接数量失败，{} 个分组", loadedCounts.size(), e);
+            }
+        }
+
+        List<ShortLinkGroupCountRespDTO> result = new ArrayList<>(gidList.size());
+        for (String gid : gidList) {
+            result.add(ShortLinkGroupCountRespDTO.builder()
+                    .gid(gid)
+                    .shortLinkCount(counts.getOrDefault(gid, 0))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 按数据库统计分组短链接数量，没有短链接的分组记为 0
+     * @param gidList 分组标识列表
+     * @return 分组标识 -> 数量
+     */
+    public Map<String, Integer> loadFromDatabase(List<String> gidList) {
+        Map<String, Integer> counts = new HashMap<>(gidList.size() * 2);
+        gidList.forEach(gid -> counts.put(gid, 0));
+        for (ShortLinkGroupCountRespDTO each : shortLinkMapper.countGroupByGid(gidList)) {
+            counts.put(each.getGid(), each.getShortLinkCount());
+        }
+        return counts;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
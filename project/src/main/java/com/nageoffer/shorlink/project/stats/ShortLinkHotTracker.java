@@ -0,0 +1,117 @@
+package com.nageoffer.shorlink.project.stats;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * 功能描述: 本节点热点短链接统计（Space-Saving 算法）
+ * </p>
+ * 最多跟踪 capacity 个短链接，新短链接到来且已满时替换计数最小的一个，继承其计数作为误差上界。
+ * 访问量高于总访问量 / capacity 的短链接一定在结果中，内存占用与短链接总数无关。
+ * 由 ShortLinkHotRankScheduledJob 定期取出并清空，合并到 Redis 热点排行榜
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Component
+public class ShortLinkHotTracker {
+
+    /**
+     * 成员分隔符，排行榜成员格式为 {gid}|{fullShortUrl}
+     */
+    public static final String MEMBER_SEPARATOR = "|";
+
+    /**
+     * 最多跟踪的短链接数量
+     */
+    @Value("${short-link.hot-rank.tracker-capacity:1000}")
+    private int capacity;
+
+    private Map<String, Counter> counters;
+    private TreeSet<Counter> orderedCounters;
+
+    @PostConstruct
+    public void init() {
+        counters = new HashMap<>(capacity * 2);
+        orderedCounters = new TreeSet<>(Comparator.comparingLong((Counter counter) -> counter.count).thenComparing(counter -> counter.member));
+    }
+
+    /**
+     * 记录一批访问
+     * @param hits {gid}|{fullShortUrl} -> 访问次数
+     */
+    public synchronized void offerAll(Map<String, Long> hits) {
+        hits.forEach(this::offer);
+    }
+
+    /**
+     * 取出当前统计结果并清空，下一周期重新统计
+     * @return {gid}|{fullShortUrl} -> 保证访问次数（计数减去误差）
+     */
+    public synchronized Map<String, Long> drain() {
+        if (counters.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> snapshot = new HashMap<>(counters.size() * 2);
+        for (Counter counter : counters.values()) {
+            long guaranteed = counter.count - counter.error;
+            if (guaranteed > 0) {
+                snapshot.put(counter.member, guaranteed);
+            }
+        }
+        counters.clear();
+        orderedCounters.clear();
+        return snapshot;
+    }
+
+    /**
+     * 生成排行榜成员
+     * @param gid 分组标识
+     * @param fullShortUrl 完整短链接
+     * @return {gid}|{fullShortUrl}
+     */
+    public static String toMember(String gid, String fullShortUrl) {
+        return gid + MEMBER_SEPARATOR + fullShortUrl;
+    }
+
+    private void offer(String member, long weight) {
+        Counter counter = counters.get(member);
+        if (counter != null) {
+            // TreeSet 按计数排序，修改计数前需先移出
+            orderedCounters.remove(counter);
+            counter.count += weight;
+            orderedCounters.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(member, weight, 0);
+        } else {
+            Counter min = orderedCounters.pollFirst();
+            counters.remove(min.member);
+            counter = new Counter(member, min.count + weight, min.count);
+        }
+        counters.put(member, counter);
+        orderedCounters.add(counter);
+    }
+
+    private static final class Counter {
+
+        private final String member;
+        private long count;
+        private final long error;
+
+        private Counter(String member, long count, long error) {
+            this.member = member;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.nageoffer.shorlink.project.stats;
+
+import cn.hutool.core.util.StrUtil;
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.nageoffer.shorlink.project.toolkit.HourBucket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * 功能描述: 短链接访问事件处理器
+ * </p>
+ * Stream 消费者和 Stream 不可用时的降级路径共用同一套统计逻辑：
+ * 1. 降级路径（process）：访问监控 pv 写入 LinkAccessStatsBuffer，点击次数写入 ShortLinkClickCounter，均由其后台线程批量入库
+ * 2. Stream 消费者（persist）：整批事件合并后在同一事务中直接写入数据库，返回后才允许 ACK
+ * 3. 访客 Cookie 和 IP 以管道方式 PFADD 到按天划分的 HyperLogLog，并标记为待汇总，
+ *    由 LinkUvRollupScheduledJob 定时把 PFCOUNT 的增量写入 uv、uip
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsProcessor {
+
+    private final LinkAccessStatsBuffer linkAccessStatsBuffer;
+    private final ShortLinkClickCounter shortLinkClickCounter;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkHotTracker shortLinkHotTracker;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 每日 UV/UIP HyperLogLog 保留时间（小时），需覆盖跨天后的最后一次汇总
+     */
+    @Value("${short-link.stats.uv.key-ttl-hours:48}")
+    private long keyTtlHours;
+
+    /**
+     * 处理一批访问事件
+     * @param records 访问事件列表
+     */
+    public void process(List<ShortLinkStatsRecordDTO> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<String, Long> hits = new HashMap<>();
+        for (ShortLinkStatsRecordDTO record : records) {
+            linkAccessStatsBuffer.record(record.getFullShortUrl(), record.getGid(), record.getAccessTime(), 1, 0, 0);
+            shortLinkClickCounter.increment(record.getGid(), record.getFullShortUrl());
+            hits.merge(ShortLinkHotTracker.toMember(record.getGid(), record.getFullShortUrl()), 1L, Long::sum);
+        }
+        shortLinkHotTracker.offerAll(hits);
+        try {
+            addToHyperLogLog(records);
+        } catch (Exception e) {
+            // UV/UIP 统计失败不影响 pv 和点击次数
+            log.error("短链接 UV/UIP 写入 HyperLogLog 失败，{} 条", records.size(), e);
+        }
+    }
+
+    /**
+     * 同步持久化一批 Stream 访问事件，正常返回即表示已全部落库，失败时抛出异常，由调用方保留消息等待重新投递
+     * 1. 先写 HyperLogLog：PFADD 天然幂等，重新投递不会重复计数
+     * 2. 访问监控 pv 与点击次数在同一事务中写入，失败整体回滚，重新投递时不会重复累加
+     * @param records 访问事件列表
+     */
+    public void persist(List<ShortLinkStatsRecordDTO> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        addToHyperLogLog(records);
+        transactionTemplate.executeWithoutResult(status -> {
+            linkAccessStatsBuffer.writeThrough(records);
+            shortLinkClickCounter.writeThrough(records);
+        });
+        Map<String, Long> hits = new HashMap<>();
+        records.forEach(each -> hits.merge(ShortLinkHotTracker.toMember(each.getGid(), each.getFullShortUrl()), 1L, Long::sum));
+        shortLinkHotTracker.offerAll(hits);
+    }
+
+    private void addToHyperLogLog(List<ShortLinkStatsRecordDTO> records) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            // 同一批次内同一短链接同一天只需标记、续期一次
+            Set<String> dirtyMembers = new HashSet<>();
+            for (ShortLinkStatsRecordDTO record : records) {
+                String date = HourBucket.of(record.getAccessTime()).getDay();
+                String uvKey = RedisKeyConstant.getDailyUvKey(record.getFullShortUrl(), date);
+                String uipKey = RedisKeyConstant.getDailyUipKey(record.getFullShortUrl(), date);
+                if (StrUtil.isNotEmpty(record.getUv())) {
+                    stringRedisConnection.pfAdd(uvKey, record.getUv());
+                }
+                if (StrUtil.isNotEmpty(record.getRemoteAddr())) {
+                    stringRedisConnection.pfAdd(uipKey, record.getRemoteAddr());
+                }
+                if (dirtyMembers.add(date + "|" + record.getGid() + "|" + record.getFullShortUrl())) {
+                    stringRedisConnection.expire(uvKey, TimeUnit.HOURS.toSeconds(keyTtlHours));
+                    stringRedisConnection.expire(uipKey, TimeUnit.HOURS.toSeconds(keyTtlHours));
+                }
+            }
+            stringRedisConnection.sAdd(RedisKeyConstant.SHORT_LINK_UV_DIRTY, dirtyMembers.toArray(new String[0]));
+            return null;
+        });
+    }
+}
@@ -19,6 +19,26 @@ public class HashUtil {
 
     private static final int SIZE = CHARS.length;
 
+    /**
+     * 号段短链接固定长度
+     */
+    private static final int SEGMENT_CODE_LENGTH = 7;
+
+    /**
+     * 7 位 Base62 可表示的号码数量：62^7
+     */
+    public static final long SEGMENT_CODE_CAPACITY = 3521614606208L;
+
+    /**
+     * 混淆乘数，与 62^7 互质（奇数且不是 31 的倍数），保证映射为双射；取值足够小，乘积不会溢出 long
+     */
+    private static final long SCRAMBLE_MULTIPLIER = 1999993L;
+
+    /**
+     * 混淆偏移量
+     */
+    private static final long SCRAMBLE_OFFSET = 916132832L;
+
     private static String convertDecToBase62(long num) {
         StringBuilder sb = new StringBuilder();
         while (num > 0) {
@@ -34,4 +54,24 @@ public class HashUtil {
         long num = i < 0 ? Integer.MAX_VALUE - (long) i : i;
         return convertDecToBase62(num);
     }
+
+    /**
+     * 将号段分配的号码编码为 7 位 Base62 短链接
+     * 先做 (id * 乘数 + 偏移) mod 62^7 的仿射变换，再把低位放在前面，相邻号码生成的短链接看不出顺序；
+     * 变换是双射，不同号码一定得到不同短链接。历史 MurmurHash 生成的短链接最多 6 位，也不会与之冲突
+     * @param id 号码，取值范围 [0, 62^7)
+     * @return 7 位短链接
+     */
+    public static String encodeToBase62(long id) {
+        if (id < 0 || id >= SEGMENT_CODE_CAPACITY) {
+            throw new IllegalArgumentException("短链接号码超出范围：" + id);
+        }
+        long num = (id * SCRAMBLE_MULTIPLIER + SCRAMBLE_OFFSET) % SEGMENT_CODE_CAPACITY;
+        char[] code = new char[SEGMENT_CODE_LENGTH];
+        for (int i = 0; i < SEGMENT_CODE_LENGTH; i++) {
+            code[i] = CHARS[(int) (num % SIZE)];
+            num /= SIZE;
+        }
+        return new String(code);
+    }
 }
@@ -0,0 +1,92 @@
+package com.nageoffer.shorlink.project.toolkit;
+
+import lombok.Getter;
+
+import java.util.Calendar;
+
+/**
+ * <p>
+ * 功能描述: 访问统计的小时时间桶（当天零点、小时、星期、yyyyMMdd 日期）
+ * </p>
+ * 统计时每次访问都要计算所属的日期、小时和星期，原来每次都创建 Date 并经过 Calendar 计算。
+ * 这里缓存当前小时的时间桶，同一小时内的访问直接复用，每小时只计算一次；
+ * 不在当前小时内的时间（补算历史数据）单独计算，不替换缓存
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Getter
+public final class HourBucket {
+
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+
+    private static volatile HourBucket current = compute(System.currentTimeMillis());
+
+    /**
+     * 小时开始时间戳（毫秒）
+     */
+    private final long hourStart;
+
+    /**
+     * 当天零点时间戳（毫秒）
+     */
+    private final long dayStart;
+
+    /**
+     * 小时（0-23）
+     */
+    private final int hour;
+
+    /**
+     * 星期，与 hutool Week#getValue 一致：周日为 1，周六为 7
+     */
+    private final int weekday;
+
+    /**
+     * 日期，格式 yyyyMMdd
+     */
+    private final String day;
+
+    private HourBucket(long hourStart, long dayStart, int hour, int weekday, String day) {
+        this.hourStart = hourStart;
+        this.dayStart = dayStart;
+        this.hour = hour;
+        this.weekday = weekday;
+        this.day = day;
+    }
+
+    /**
+     * 获取时间戳所属的时间桶
+     * @param epochMillis 时间戳（毫秒）
+     * @return 时间桶
+     */
+    public static HourBucket of(long epochMillis) {
+        HourBucket bucket = current;
+        if (epochMillis >= bucket.hourStart && epochMillis < bucket.hourStart + HOUR_MILLIS) {
+            return bucket;
+        }
+        HourBucket computed = compute(epochMillis);
+        if (epochMillis > bucket.hourStart) {
+            // 只向前推进，迟到的历史访问不会把缓存换回旧的小时
+            current = computed;
+        }
+        return computed;
+    }
+
+    private static HourBucket compute(long epochMillis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(epochMillis);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long hourStart = calendar.getTimeInMillis();
+        int hour = calendar.get(Calendar.HOUR_OF_DAY);
+        int weekday = calendar.get(Calendar.DAY_OF_WEEK);
+        int year = calendar.get(Calendar.YEAR);
+        int month = calendar.get(Calendar.MONTH) + 1;
+        int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        String day = String.format("%04d%02d%02d", year, month, dayOfMonth);
+        return new HourBucket(hourStart, calendar.getTimeInMillis(), hour, weekday, day);
+    }
+}
@@ -2,8 +2,11 @@ package com.nageoffer.shorlink.project.toolkit;
 
 import cn.hutool.core.date.DateUnit;
 import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.nageoffer.shorlink.project.common.constant.ShortLinkConstant.DEFAULT_CACHE_VALID_TIME;
 
@@ -16,6 +19,17 @@ import static com.nageoffer.shorlink.project.common.constant.ShortLinkConstant.D
  * @since 2025/10/11
  */
 public class LinkUtil {
+
+    /**
+     * 完整短链接前缀缓存的最大域名数，Host 请求头由客户端控制，超过后不再缓存
+     */
+    private static final int MAX_HOST_PREFIX_CACHE_SIZE = 1024;
+
+    /**
+     * 域名 -> {域名}:{端口}/ 前缀
+     */
+    private static final ConcurrentHashMap<String, HostPrefix> HOST_PREFIX_CACHE = new ConcurrentHashMap<>();
+
     public static long getLinkCacheValidDate(Date validDate){
 //        return Optional.ofNullable(validDate)
 //                .map(each -> DateUtil.between(new Date(), each, DateUnit.MS))
@@ -30,5 +44,50 @@ public class LinkUtil {
 
 
     }
+
+    /**
+     * 获取访问者真实 IP，经网关或 Nginx 转发时取 X-Forwarded-For 中的第一个地址
+     * @param request 请求
+     * @return 访问者 IP
+     */
+    public static String getActualIp(HttpServletRequest request) {
+        String ipAddress = request.getHeader("X-Forwarded-For");
+        if (StrUtil.isBlank(ipAddress) || "unknown".equalsIgnoreCase(ipAddress)) {
+            ipAddress = request.getHeader("X-Real-IP");
+        }
+        if (StrUtil.isBlank(ipAddress) || "unknown".equalsIgnoreCase(ipAddress)) {
+            return request.getRemoteAddr();
+        }
+        int commaIndex = ipAddress.indexOf(',');
+        return commaIndex > 0 ? ipAddress.substring(0, commaIndex).trim() : ipAddress.trim();
+    }
+
+    /**
+     * 构建完整短链接 {域名}:{端口}/{短链接后缀}，每个域名的前缀只拼接一次，跳转时只分配结果字符串
+     * @param serverName 域名
+     * @param serverPort 端口
+     * @param shortUri 短链接后缀
+     * @return 完整短链接
+     */
+    public static String buildFullShortUrl(String serverName, int serverPort, String shortUri) {
+        HostPrefix hostPrefix = HOST_PREFIX_CACHE.get(serverName);
+        if (hostPrefix == null || hostPrefix.port != serverPort) {
+            hostPrefix = new HostPrefix(serverPort, serverName + ":" + serverPort + "/");
+            if (HOST_PREFIX_CACHE.size() < MAX_HOST_PREFIX_CACHE_SIZE) {
+                HOST_PREFIX_CACHE.put(serverName, hostPrefix);
+            }
+        }
+        return hostPrefix.prefix.concat(shortUri);
+    }
+
+    private static final class HostPrefix {
+
+        private final int port;
+        private final String prefix;
+
+        private HostPrefix(int port, String prefix) {
+            this.port = port;
+            this.prefix = prefix;
+        }
+    }
 }
- 
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.nageoffer.shorlink.project.toolkit;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.nageoffer.shorlink.project.common.convention.exception.ClientException;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * <p>
+ * 功能描述: 短链接分页游标工具类
+ * </p>
+ * 游标为上一页最后一条记录的 (create_time, id)，Base64 编码后对调用方不透明。
+ * 按游标翻页时以 WHERE (create_time, id) &lt; (?, ?) 定位，配合联合索引
+ * (gid, enable_status, del_flag, create_time, id) 只扫描当前页的数据，不随页码加深变慢
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+public class PageCursorUtil {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * 根据当前页最后一条记录生成下一页游标
+     * @param records 当前页记录
+     * @param size 每页条数
+     * @return 下一页游标，当前页不满一页（已到末尾）时返回 null
+     */
+    public static String nextCursor(List<ShortLinkDO> records, long size) {
+        if (records.isEmpty() || records.size() < size) {
+            return null;
+        }
+        ShortLinkDO last = records.get(records.size() - 1);
+        String raw = last.getCreateTime().getTime() + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 按游标追加 (create_time, id) 范围条件；无论是否有游标都按 create_time、id 倒序排序
+     * @param queryWrapper 查询条件
+     * @param cursor 上一页返回的游标，为空表示按页码查询
+     * @return 是否按游标查询
+     */
+    public static boolean applyCursor(LambdaQueryWrapper<ShortLinkDO> queryWrapper, String cursor) {
+        boolean cursorMode = StrUtil.isNotBlank(cursor);
+        if (cursorMode) {
+            long[] decoded = decode(cursor);
+            Date createTime = new Date(decoded[0]);
+            long id = decoded[1];
+            queryWrapper.and(wrapper -> wrapper
+                    .lt(ShortLinkDO::getCreateTime, createTime)
+                    .or(each -> each.eq(ShortLinkDO::getCreateTime, createTime).lt(ShortLinkDO::getId, id)));
+        }
+        queryWrapper.orderByDesc(ShortLinkDO::getCreateTime).orderByDesc(ShortLinkDO::getId);
+        return cursorMode;
+    }
+
+    private static long[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (Exception e) {
+            throw new ClientException("分页游标无效");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.nageoffer.shorlink.project.toolkit;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * 功能描述: 限流日志，每秒最多输出 permitsPerSecond 条，超出的日志直接丢弃并计数
+ * </p>
+ * 用于跳转等高频路径上可能被大量触发的日志（不存在、已过期、布隆过滤器拦截等），
+ * 避免恶意扫描或热点短链接失效时日志量随请求量线性增长。
+ * 下一秒第一条日志输出时附带上一周期丢弃的条数
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+public class RateLimitedLogger {
+
+    private static final long WINDOW_MILLIS = 1000L;
+
+    private final Logger logger;
+    private final int permitsPerSecond;
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, int permitsPerSecond) {
+        this.logger = logger;
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public void info(String format, Object arg) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            logger.info(format, arg);
+        }
+    }
+
+    public void warn(String format, Object arg) {
+        if (logger.isWarnEnabled() && tryAcquire()) {
+            logger.warn(format, arg);
+        }
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        if (logger.isWarnEnabled() && tryAcquire()) {
+            logger.warn(format, arg1, arg2);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_MILLIS && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                logger.warn("日志限流：上一周期丢弃 {} 条", dropped);
+            }
+        }
+        if (windowCount.incrementAndGet() <= permitsPerSecond) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
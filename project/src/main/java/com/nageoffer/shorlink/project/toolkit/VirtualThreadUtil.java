@@ -0,0 +1,85 @@
+package com.nageoffer.shorlink.project.toolkit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * 功能描述: 虚拟线程工具类
+ * </p>
+ * 项目按 Java 17 编译，虚拟线程（JDK 21 正式提供）的 API 只能通过反射调用：
+ * 运行在 JDK 21 及以上时创建虚拟线程，否则退回到守护平台线程，调用方不需要区分
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+@Slf4j
+public class VirtualThreadUtil {
+
+    private static final boolean SUPPORTED = detect();
+
+    /**
+     * 当前 JDK 是否支持虚拟线程
+     * @return JDK 21 及以上（或 19/20 开启预览）时为 true
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * 创建线程工厂，线程名为 {namePrefix}-{序号}
+     * @param namePrefix 线程名前缀
+     * @param virtual 是否使用虚拟线程，不支持时忽略
+     * @return 线程工厂
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix, boolean virtual) {
+        if (virtual && SUPPORTED) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix + "-", 1L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                log.warn("创建虚拟线程工厂失败，使用平台线程：{}", namePrefix, e);
+            }
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器
+     * @return 执行器，不支持虚拟线程时返回 null
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!SUPPORTED) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("创建虚拟线程执行器失败", e);
+            return null;
+        }
+    }
+
+    private static boolean detect() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            // JDK 19/20 未开启预览时方法存在但调用会抛出 UnsupportedOperationException
+            ofVirtual.invoke(null);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+}
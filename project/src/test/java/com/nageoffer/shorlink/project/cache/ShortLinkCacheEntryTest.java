@@ -0,0 +1,117 @@
+package com.nageoffer.shorlink.project.cache;
+
+import com.alibaba.fastjson.JSON;
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * <p>
+ * 功能描述: 短链接缓存值编解码测试
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+public class ShortLinkCacheEntryTest {
+
+    private static final String FULL_SHORT_URL = "nurl.ink/3vQx9Ab";
+
+    public void testRoundTripWithSeparatorInOriginUrl() {
+        ShortLinkDO shortLink = shortLink("https://example.com/search?q=a|b&tags=x|y|", new Date(1760000000123L));
+        ShortLinkCacheEntry decoded = ShortLinkCacheEntry.decode(FULL_SHORT_URL, new ShortLinkCacheEntry(shortLink, 1760000100000L, 37).encode());
+
+        assertGotoRecord(shortLink, decoded.getShortLink());
+        assert decoded.getSoftExpireAt() == 1760000100000L;
+        assert decoded.getLoadCostMs() == 37;
+    }
+
+    public void testRoundTripWithNullValidDate() {
+        ShortLinkDO shortLink = shortLink("https://example.com/", null);
+        shortLink.setEnableStatus(null);
+        ShortLinkCacheEntry decoded = ShortLinkCacheEntry.decode(FULL_SHORT_URL, new ShortLinkCacheEntry(shortLink, 0, 0).encode());
+
+        assertGotoRecord(shortLink, decoded.getShortLink());
+        assert decoded.getShortLink().getValidDate() == null;
+        assert decoded.getShortLink().getEnableStatus() == null;
+        assert decoded.getSoftExpireAt() == 0;
+    }
+
+    public void testDecodeLegacyJson() {
+        ShortLinkDO shortLink = shortLink("https://example.com/a|b", new Date(1760000000000L));
+        shortLink.setDescribe("升级前写入的完整短链接");
+        shortLink.setFavicon("https://example.com/favicon.ico");
+        ShortLinkCacheEntry decoded = ShortLinkCacheEntry.decode(FULL_SHORT_URL, JSON.toJSONString(shortLink));
+
+        assertGotoRecord(shortLink, decoded.getShortLink());
+        // 只保留跳转需要的字段
+        assert decoded.getShortLink().getDescribe() == null;
+        assert decoded.getShortLink().getFavicon() == null;
+        assert decoded.getSoftExpireAt() == 0;
+        assert decoded.getLoadCostMs() == 0;
+    }
+
+    public void testDecodeLegacySoftExpireJson() {
+        ShortLinkDO shortLink = shortLink("https://example.com/a|b", null);
+        ShortLinkCacheEntry decoded = ShortLinkCacheEntry.decode(FULL_SHORT_URL, "1760000100000|12|" + JSON.toJSONString(shortLink));
+
+        assertGotoRecord(shortLink, decoded.getShortLink());
+        assert decoded.getSoftExpireAt() == 1760000100000L;
+        assert decoded.getLoadCostMs() == 12;
+    }
+
+    public void testRejectTruncatedValue() {
+        String encoded = new ShortLinkCacheEntry(shortLink("https://example.com/", new Date(1760000000123L)), 1760000100000L, 37).encode();
+        // 原始链接之前的任意截断都必须被识别
+        int originUrlStart = encoded.indexOf("https://");
+        for (int length = 0; length < originUrlStart; length++) {
+            assertRejected(encoded.substring(0, length));
+        }
+        String legacy = "1760000100000|12|" + JSON.toJSONString(shortLink("https://example.com/", null));
+        assertRejected(legacy.substring(0, legacy.length() - 1));
+        assertRejected(legacy.substring(0, legacy.indexOf("originUrl")));
+    }
+
+    public void testRejectGarbageValue() {
+        List<String> garbageValues = Arrays.asList(
+                "garbage",
+                "v1|abc|1|gid|0||https://example.com/",
+                "v1|1|1|gid|x||https://example.com/",
+                "v1|1|1|gid|0|tomorrow|https://example.com/",
+                "1|2",
+                "x|y|{\"gid\":\"gid\",\"originUrl\":\"https://example.com/\"}",
+                "{}",
+                "{\"gid\":"
+        );
+        garbageValues.forEach(ShortLinkCacheEntryTest::assertRejected);
+    }
+
+    private static ShortLinkDO shortLink(String originUrl, Date validDate) {
+        return ShortLinkDO.builder()
+                .fullShortUrl(FULL_SHORT_URL)
+                .gid("gid_01")
+                .enableStatus(0)
+                .validDate(validDate)
+                .originUrl(originUrl)
+                .build();
+    }
+
+    private static void assertGotoRecord(ShortLinkDO expected, ShortLinkDO actual) {
+        assert FULL_SHORT_URL.equals(actual.getFullShortUrl()) : actual.getFullShortUrl();
+        assert expected.getGid().equals(actual.getGid()) : actual.getGid();
+        assert expected.getOriginUrl().equals(actual.getOriginUrl()) : actual.getOriginUrl();
+        assert expected.getEnableStatus() == null ? actual.getEnableStatus() == null : expected.getEnableStatus().equals(actual.getEnableStatus());
+        assert expected.getValidDate() == null ? actual.getValidDate() == null : expected.getValidDate().equals(actual.getValidDate());
+    }
+
+    private static void assertRejected(String cachedValue) {
+        try {
+            ShortLinkCacheEntry.decode(FULL_SHORT_URL, cachedValue);
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError("应拒绝格式错误的缓存值：" + cachedValue);
+    }
+}
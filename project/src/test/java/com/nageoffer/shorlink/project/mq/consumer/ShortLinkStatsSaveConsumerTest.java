@@ -0,0 +1,148 @@
+package com.nageoffer.shorlink.project.mq.consumer;
+
+import com.nageoffer.shorlink.project.common.constant.RedisKeyConstant;
+import com.nageoffer.shorlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.nageoffer.shorlink.project.stats.ShortLinkStatsProcessor;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * <p>
+ * 功能描述: 短链接访问事件消费者测试，需要本地 Redis
+ * </p>
+ * 通过环境变量 REDIS_HOST、REDIS_PORT 指定 Redis，默认 localhost:6379，使用 15 号库；Redis 不可用时跳过
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+public class ShortLinkStatsSaveConsumerTest {
+
+    private static final int REDIS_DATABASE = 15;
+
+    public void testAckOnlyAfterPersist() throws Exception {
+        LettuceConnectionFactory connectionFactory = connect();
+        if (connectionFactory == null) {
+            return;
+        }
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.afterPropertiesSet();
+        String group = "short-link-stats-test-" + System.nanoTime();
+        stringRedisTemplate.delete(RedisKeyConstant.SHORT_LINK_LOG_QUEUE);
+        RecordingProcessor processor = new RecordingProcessor();
+        ShortLinkStatsSaveConsumer consumer = newConsumer(stringRedisTemplate, processor, group);
+        try {
+            for (int i = 0; i < 3; i++) {
+                ShortLinkStatsRecordDTO statsRecord = ShortLinkStatsRecordDTO.builder()
+                        .fullShortUrl("nurl.ink/test" + i)
+                        .gid("test")
+                        .accessTime(System.currentTimeMillis())
+                        .build();
+                stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                        .in(RedisKeyConstant.SHORT_LINK_LOG_QUEUE)
+                        .ofMap(statsRecord.toMap()));
+            }
+
+            // 写库失败：整批消息不 ACK，留在待确认列表中
+            processor.failing = true;
+            consumer.init();
+            assert await(() -> processor.attempts.get() > 0) : "consumer did not read the stream";
+            assert pendingCount(stringRedisTemplate, group) == 3 : "failed batch must stay pending";
+            assert processor.persisted.isEmpty();
+
+            // 写库恢复：空闲超时后被接管、重新投递，落库后才 ACK
+            processor.failing = false;
+            assert await(() -> processor.persisted.size() == 3) : "pending batch was not reclaimed";
+            assert await(() -> pendingCount(stringRedisTemplate, group) == 0) : "persisted batch was not acknowledged";
+        } finally {
+            consumer.destroy();
+            stringRedisTemplate.delete(RedisKeyConstant.SHORT_LINK_LOG_QUEUE);
+            connectionFactory.destroy();
+        }
+    }
+
+    private static LettuceConnectionFactory connect() {
+        String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(host, port);
+        configuration.setDatabase(REDIS_DATABASE);
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        try {
+            connectionFactory.getConnection().ping();
+            return connectionFactory;
+        } catch (Exception e) {
+            System.out.println("Redis " + host + ":" + port + " 不可用，跳过 ShortLinkStatsSaveConsumerTest");
+            connectionFactory.destroy();
+            return null;
+        }
+    }
+
+    private static ShortLinkStatsSaveConsumer newConsumer(StringRedisTemplate stringRedisTemplate, ShortLinkStatsProcessor processor, String group) throws Exception {
+        ShortLinkStatsSaveConsumer consumer = new ShortLinkStatsSaveConsumer(stringRedisTemplate, processor);
+        setField(consumer, "enabled", true);
+        setField(consumer, "group", group);
+        setField(consumer, "batchSize", 10);
+        setField(consumer, "parallelism", 1);
+        setField(consumer, "blockMs", 100L);
+        setField(consumer, "reclaimIntervalMs", 200L);
+        setField(consumer, "reclaimIdleMs", 300L);
+        setField(consumer, "maxDeliveryCount", 100L);
+        setField(consumer, "maxLength", 1000L);
+        return consumer;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static long pendingCount(StringRedisTemplate stringRedisTemplate, String group) {
+        PendingMessagesSummary summary = stringRedisTemplate.opsForStream().pending(RedisKeyConstant.SHORT_LINK_LOG_QUEUE, group);
+        return summary == null ? 0 : summary.getTotalPendingMessages();
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * 记录落库结果的处理器，failing 为 true 时模拟写库失败
+     */
+    private static class RecordingProcessor extends ShortLinkStatsProcessor {
+
+        private final List<ShortLinkStatsRecordDTO> persisted = new CopyOnWriteArrayList<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile boolean failing;
+
+        private RecordingProcessor() {
+            super(null, null, null, null, null);
+        }
+
+        @Override
+        public void persist(List<ShortLinkStatsRecordDTO> records) {
+            attempts.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("模拟写库失败");
+            }
+            persisted.addAll(records);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.nageoffer.shorlink.project.stats;
+
+import com.nageoffer.shorlink.project.dao.entity.ShortLinkDO;
+import com.nageoffer.shorlink.project.dao.mapper.ShortLinkMapper;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * 功能描述: 短链接点击次数合并计数器测试
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+public class ShortLinkClickCounterTest {
+
+    private static final int THREADS = 4;
+
+    private static final int CLICKS_PER_THREAD = 200_000;
+
+    /**
+     * 与点击并发、反复刷盘（包括移除空闲计数器）时，写入数据库的点击总数与实际点击数一致
+     */
+    public void testNoClickLostWhileFlushing() throws Exception {
+        AtomicLong persisted = new AtomicLong();
+        ShortLinkClickCounter clickCounter = new ShortLinkClickCounter(mapper(persisted), null);
+        setField(clickCounter, "batchSize", 200);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < CLICKS_PER_THREAD; i++) {
+                    // 点击稀疏分布在多个短链接上，刷盘时经常遇到空闲计数器
+                    clickCounter.increment("gid", "nurl.ink/" + (i % 64));
+                }
+                done.countDown();
+            });
+        }
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            clickCounter.flush();
+        }
+        executor.shutdown();
+        clickCounter.flush();
+        clickCounter.flush();
+
+        assert persisted.get() == (long) THREADS * CLICKS_PER_THREAD : "persisted " + persisted.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ShortLinkMapper mapper(AtomicLong persisted) {
+        return (ShortLinkMapper) Proxy.newProxyInstance(
+                ShortLinkMapper.class.getClassLoader(),
+                new Class<?>[]{ShortLinkMapper.class},
+                (proxy, method, args) -> {
+                    if ("incrementClickNumBatch".equals(method.getName())) {
+                        ((List<ShortLinkDO>) args[1]).forEach(each -> persisted.addAndGet(each.getClickNum()));
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
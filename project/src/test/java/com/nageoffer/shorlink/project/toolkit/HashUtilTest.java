@@ -0,0 +1,82 @@
+package com.nageoffer.shorlink.project.toolkit;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * 功能描述: 号段短链接 Base62 编码测试
+ * </p>
+ *
+ * @author Hanxuewei
+ * @since 2026/10/18
+ */
+public class HashUtilTest {
+
+    private static final String BASE62_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * 连续检查唯一性的号码数量，分别取号码区间的开头和结尾
+     */
+    private static final int RANGE_SIZE = 1_000_000;
+
+    public void testBoundaries() {
+        assert HashUtil.SEGMENT_CODE_CAPACITY == BigInteger.valueOf(62).pow(7).longValueExact();
+        assertCode(HashUtil.encodeToBase62(0));
+        assertCode(HashUtil.encodeToBase62(HashUtil.SEGMENT_CODE_CAPACITY - 1));
+        assert !HashUtil.encodeToBase62(0).equals(HashUtil.encodeToBase62(HashUtil.SEGMENT_CODE_CAPACITY - 1));
+    }
+
+    public void testRejectOutOfRange() {
+        assertRejected(-1);
+        assertRejected(HashUtil.SEGMENT_CODE_CAPACITY);
+        assertRejected(Long.MAX_VALUE);
+    }
+
+    public void testUniqueWithinRange() {
+        long[] codes = new long[RANGE_SIZE * 2];
+        for (int i = 0; i < RANGE_SIZE; i++) {
+            codes[i] = decode(HashUtil.encodeToBase62(i));
+            codes[RANGE_SIZE + i] = decode(HashUtil.encodeToBase62(HashUtil.SEGMENT_CODE_CAPACITY - 1 - i));
+        }
+        Arrays.sort(codes);
+        for (int i = 1; i < codes.length; i++) {
+            assert codes[i] != codes[i - 1] : "短链接重复：" + codes[i];
+        }
+    }
+
+    public void testAdjacentIdsLookUnordered() {
+        String previous = HashUtil.encodeToBase62(1000);
+        String current = HashUtil.encodeToBase62(1001);
+        // 相邻号码的短链接不共享前缀
+        assert previous.charAt(0) != current.charAt(0) : previous + " " + current;
+    }
+
+    /**
+     * 按字符解析为 [0, 62^7) 内的整数，同时校验长度和字符集
+     */
+    private static long decode(String code) {
+        assertCode(code);
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            value = value * 62 + BASE62_CHARS.indexOf(code.charAt(i));
+        }
+        return value;
+    }
+
+    private static void assertCode(String code) {
+        assert code.length() == 7 : code;
+        for (int i = 0; i < code.length(); i++) {
+            assert BASE62_CHARS.indexOf(code.charAt(i)) >= 0 : code;
+        }
+    }
+
+    private static void assertRejected(long id) {
+        try {
+            HashUtil.encodeToBase62(id);
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError("应拒绝超出范围的号码：" + id);
+    }
+}
@@ -29,11 +29,19 @@ public class LinkTableShardingTest {
             "    update_time     datetime      null comment '修改时间',\n" +
             "    del_flag        tinyint(1)    null comment '删除标识 0：未删除 1：已删除',\n" +
             "    constraint idx_unique_full_short_uri\n" +
-            "        unique (full_short_url)\n" +
+            "        unique (full_short_url),\n" +
+            "    index idx_gid_status_create_time (gid, enable_status, del_flag, create_time, id)\n" +
             ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;";
+    /**
+     * 已建表时补充游标分页使用的联合索引
+     */
+    public static final String INDEX_SQL = "alter table t_link_%d add index idx_gid_status_create_time (gid, enable_status, del_flag, create_time, id);";
     public static void main(String[] args) {
         for (int i = 0; i < 16; i++) {
             System.out.printf((SQL) + "%n", i);
         }
+        for (int i = 0; i < 16; i++) {
+            System.out.printf((INDEX_SQL) + "%n", i);
+        }
     }
 }